@@ -620,7 +620,7 @@ public interface BunnyApiDocs {
     @Operation(summary = "거래 차트 조회", description = "특정 버니의 거래 차트를 조회합니다.")
     ResponseEntity<ChartResponse> getChart(
         @Parameter(description = "버니 이름", example = "bunny-001") String bunnyName,
-        @Parameter(description = "차트 구간", example = "DAILY") ChartInterval interval
+        @Parameter(description = "차트 구간 (MINUTE, HOURLY, DAILY, WEEKLY, MONTHLY)", example = "DAILY") ChartInterval interval
     );
 
     // ---------------- 특정 버니 마이 리스트 조회 ----------------
@@ -1,25 +1,114 @@
 package team.avgmax.rabbit.bunny.controller.currentPrice;
 
-import lombok.RequiredArgsConstructor;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import team.avgmax.rabbit.bunny.controller.orderBook.TopicBroadcaster;
 import team.avgmax.rabbit.bunny.dto.currentPrice.ClosingPriceUpdate;
+import team.avgmax.rabbit.bunny.dto.currentPrice.DailyCloseUpdate;
 import team.avgmax.rabbit.bunny.dto.currentPrice.PriceTick;
+import team.avgmax.rabbit.bunny.dto.response.RabbitIndexResponse;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Slf4j
 @Component
-@RequiredArgsConstructor
 public class PriceTickPublisher {
 
-    private final SimpMessagingTemplate messaging;
+    private final TopicBroadcaster broadcaster;
+    private final long windowMillis;
+    private final boolean legacyCloseTopic;
+
+    // 버니 이름 → 윈도우 내 마지막 현재가 (이전 값은 덮어씀)
+    private final Map<String, PriceTick> pending = new ConcurrentHashMap<>();
+    // 윈도우 내 마지막 RABBIT 지수
+    private final AtomicReference<RabbitIndexResponse> pendingIndex = new AtomicReference<>();
+    private final ScheduledExecutorService flusher;
+
+    public PriceTickPublisher(TopicBroadcaster broadcaster,
+                              @Value("${app.websocket.conflation-window-ms:50}") long windowMillis,
+                              @Value("${app.websocket.close.legacy-per-bunny:true}") boolean legacyCloseTopic) {
+        this.broadcaster = broadcaster;
+        this.windowMillis = windowMillis;
+        this.legacyCloseTopic = legacyCloseTopic;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "price-tick-conflation");
+            t.setDaemon(true);
+            return t;
+        });
+        if (windowMillis > 0) {
+            flusher.scheduleAtFixedRate(this::flush, windowMillis, windowMillis, TimeUnit.MILLISECONDS);
+        }
+    }
 
     public void publishTick(PriceTick tick) {
+        if (windowMillis <= 0) {
+            sendTick(tick);
+            return;
+        }
+        pending.put(tick.bunnyName(), tick);
+    }
+
+    public void publishRabbitIndex(RabbitIndexResponse index) {
+        if (windowMillis <= 0) {
+            sendIndex(index);
+            return;
+        }
+        pendingIndex.set(index);
+    }
+
+    // 자정 종가 확정 결과를 버니별이 아닌 1건으로 전송
+    public void publishDailyClose(DailyCloseUpdate close) {
+        broadcaster.relay("/topic/close", close, 0L);
+
+        // 구 클라이언트 호환: 기존 버니별 /topic/close/{name} 도 한 릴리스 동안 함께 전송 (다음 릴리스에서 제거)
+        if (!legacyCloseTopic) return;
+        for (ClosingPriceUpdate update : close.closes()) {
+            broadcaster.relay("/topic/close/" + update.bunnyName(), update, 0L);
+        }
+    }
+
+    private void flush() {
+        for (String bunnyName : pending.keySet()) {
+            PriceTick tick = pending.remove(bunnyName);
+            if (tick == null) continue;
+            try {
+                sendTick(tick);
+            } catch (Exception e) {
+                log.warn("현재가 전송 실패: bunnyName={}", bunnyName, e);
+            }
+        }
+
+        RabbitIndexResponse index = pendingIndex.getAndSet(null);
+        if (index != null) {
+            try {
+                sendIndex(index);
+            } catch (Exception e) {
+                log.warn("RABBIT 지수 전송 실패", e);
+            }
+        }
+    }
+
+    private void sendTick(PriceTick tick) {
         String destination = "/topic/price/" + tick.bunnyName();
-        messaging.convertAndSend(destination, tick);
+        // 목적지별 카운터로 순서를 매김 (다른 노드에서 늦게 도착한 과거 현재가는 버림). compact 는 TopicBroadcaster 가 필요할 때만 변환
+        broadcaster.relayLatest(destination, tick);
+    }
+
+    private void sendIndex(RabbitIndexResponse index) {
+        broadcaster.relayLatest("/topic/rabbit-index", index);
     }
 
-    public void publishClose(ClosingPriceUpdate close) {
-        String destination = "/topic/close/" + close.bunnyName();
-        messaging.convertAndSend(destination, close);
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdown();
+        flush();
     }
 
     // currentPrice에 관련된 Snapshot은 REST API로 대체 가능하기 때문에 Controller를 따로 만들지 않았음.
@@ -0,0 +1,65 @@
+package team.avgmax.rabbit.bunny.controller.orderBook;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * compact 인코딩 협상.
+ * CONNECT 또는 SUBSCRIBE 프레임의 x-encoding: compact 헤더를 보고,
+ * 호가창/현재가 토픽 구독 목적지를 ".compact" 목적지로 바꿔준다. (헤더가 없으면 기존 JSON 그대로)
+ * compact 구독/해지는 CompactSubscriptions 에 기록해, 구독자가 없는 목적지는 compact 프레임을 만들지 않게 한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CompactEncodingInterceptor implements ChannelInterceptor {
+
+    private static final String ENCODING_HEADER = "x-encoding";
+    private static final String COMPACT = "compact";
+    private static final String SESSION_ATTR = "wsEncoding";
+
+    private final CompactSubscriptions compactSubscriptions;
+
+    @Override
+    public Message<?> preSend(@NonNull Message<?> message, @NonNull MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() == null) return message;
+
+        if (accessor.getCommand() == StompCommand.CONNECT) {
+            Map<String, Object> attributes = accessor.getSessionAttributes();
+            if (attributes != null && COMPACT.equalsIgnoreCase(accessor.getFirstNativeHeader(ENCODING_HEADER))) {
+                attributes.put(SESSION_ATTR, COMPACT);
+            }
+        } else if (accessor.getCommand() == StompCommand.SUBSCRIBE) {
+            String destination = accessor.getDestination();
+            if (destination != null && CompactFrames.isCompactCapable(destination) && wantsCompact(accessor)) {
+                accessor.setDestination(destination + CompactFrames.SUFFIX);
+                compactSubscriptions.add(accessor.getSessionId(), accessor.getSubscriptionId(), accessor.getDestination());
+                log.debug("compact 구독: sessionId={}, destination={}", accessor.getSessionId(), accessor.getDestination());
+            }
+        } else if (accessor.getCommand() == StompCommand.UNSUBSCRIBE) {
+            compactSubscriptions.remove(accessor.getSessionId(), accessor.getSubscriptionId());
+        } else if (accessor.getCommand() == StompCommand.DISCONNECT) {
+            compactSubscriptions.removeSession(accessor.getSessionId());
+        }
+        return message;
+    }
+
+    private static boolean wantsCompact(StompHeaderAccessor accessor) {
+        String header = accessor.getFirstNativeHeader(ENCODING_HEADER);
+        if (header != null) return COMPACT.equalsIgnoreCase(header);
+
+        Map<String, Object> attributes = accessor.getSessionAttributes();
+        return attributes != null && COMPACT.equals(attributes.get(SESSION_ATTR));
+    }
+}
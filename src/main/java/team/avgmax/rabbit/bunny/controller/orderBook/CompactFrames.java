@@ -0,0 +1,129 @@
+package team.avgmax.rabbit.bunny.controller.orderBook;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import team.avgmax.rabbit.bunny.dto.currentPrice.PriceTick;
+import team.avgmax.rabbit.bunny.dto.orderBook.OrderBookDiff;
+import team.avgmax.rabbit.bunny.dto.orderBook.OrderBookLevel;
+import team.avgmax.rabbit.bunny.dto.orderBook.OrderBookSnapshot;
+import team.avgmax.rabbit.bunny.entity.enums.OrderType;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * compact 인코딩 (구독 시 x-encoding: compact 로 선택, 목적지 뒤에 ".compact").
+ * SockJS 는 텍스트 프레임만 지원하므로 바이너리 대신 키 없는 숫자 배열 JSON 을 쓴다.
+ * 버니 이름은 목적지에 있으므로 생략하고, 가격은 정수(원) 델타로 보낸다.
+ * 정수 long 으로 정확히 옮길 수 없는 값(소수, 범위 초과)이 있으면 compact 대신 일반 JSON 프레임을 그대로 보낸다.
+ *
+ * Diff     : [[sequence, prevSequence, serverTime, currentPrice, epoch], levels, deletes]
+ * Snapshot : [[sequence, -1, serverTime, currentPrice, epoch], levels, []]  (prevSequence -1 = 스냅샷)
+ * Tick     : [currentPrice, timestamp]
+ *
+ * levels  : [Δprice, quantity, side, Δprice, quantity, side, ...] (가격 오름차순, side 0 = BUY / 1 = SELL)
+ * deletes : [Δprice, side, Δprice, side, ...] (가격 오름차순)
+ * Δprice  : 첫 값은 currentPrice 기준, 이후는 직전 가격 기준 차이
+ */
+public final class CompactFrames {
+
+    private CompactFrames() {}
+
+    public static final String SUFFIX = ".compact";
+
+    // /topic/bunnies/{name}/orderbook, /topic/price/{name}
+    public static boolean isCompactCapable(String destination) {
+        if (destination.endsWith(SUFFIX)) return false;
+        return isOrderBook(destination) || destination.startsWith("/topic/price/");
+    }
+
+    // 로컬 발행 payload 의 compact 형태 (지원하지 않는 타입이면 null, 정수로 옮길 수 없으면 원래 payload)
+    public static Object encode(Object payload) {
+        try {
+            if (payload instanceof OrderBookDiff diff) return diff(diff);
+            if (payload instanceof OrderBookSnapshot snapshot) return snapshot(snapshot);
+            if (payload instanceof PriceTick tick) return tick(tick);
+        } catch (ArithmeticException e) {
+            return payload;
+        }
+        return null;
+    }
+
+    // 다른 노드에서 JSON 으로 받은 payload 의 compact 형태 (relay 되는 것은 호가 Diff 와 현재가뿐)
+    public static Object encode(String destination, byte[] json, ObjectMapper objectMapper) throws IOException {
+        if (isOrderBook(destination)) return encode(objectMapper.readValue(json, OrderBookDiff.class));
+        if (destination.startsWith("/topic/price/")) return encode(objectMapper.readValue(json, PriceTick.class));
+        return null;
+    }
+
+    private static boolean isOrderBook(String destination) {
+        return destination.startsWith("/topic/bunnies/") && destination.endsWith("/orderbook");
+    }
+
+    private static long[][] diff(OrderBookDiff diff) {
+        long base = toLong(diff.currentPrice());
+        return new long[][]{
+                {diff.sequence(), diff.prevSequence(), diff.serverTime(), base, diff.epoch()},
+                levels(diff.orderUpserts(), base),
+                deletes(diff.orderDeleteLevels(), base)
+        };
+    }
+
+    private static long[][] snapshot(OrderBookSnapshot snapshot) {
+        long base = toLong(snapshot.currentPrice());
+        return new long[][]{
+                {snapshot.sequence(), -1L, snapshot.serverTime(), base, snapshot.epoch()},
+                levels(snapshot.orders(), base),
+                new long[0]
+        };
+    }
+
+    private static long[] tick(PriceTick tick) {
+        return new long[]{toLong(tick.currentPrice()), tick.timestamp()};
+    }
+
+    private static long[] levels(List<OrderBookLevel> levels, long base) {
+        List<OrderBookLevel> sorted = levels.stream()
+                .sorted(Comparator.comparing(OrderBookLevel::price))
+                .toList();
+
+        long[] out = new long[sorted.size() * 3];
+        long prev = base;
+        int i = 0;
+        for (OrderBookLevel level : sorted) {
+            long price = toLong(level.price());
+            out[i++] = price - prev;
+            out[i++] = toLong(level.quantity());
+            out[i++] = side(level);
+            prev = price;
+        }
+        return out;
+    }
+
+    private static long[] deletes(List<OrderBookLevel> levels, long base) {
+        List<OrderBookLevel> sorted = levels.stream()
+                .sorted(Comparator.comparing(OrderBookLevel::price))
+                .toList();
+
+        long[] out = new long[sorted.size() * 2];
+        long prev = base;
+        int i = 0;
+        for (OrderBookLevel level : sorted) {
+            long price = toLong(level.price());
+            out[i++] = price - prev;
+            out[i++] = side(level);
+            prev = price;
+        }
+        return out;
+    }
+
+    private static long side(OrderBookLevel level) {
+        return (level.type() == OrderType.BUY) ? 0L : 1L;
+    }
+
+    // 소수/범위 초과는 ArithmeticException (호출한 encode 가 JSON 프레임으로 대체)
+    private static long toLong(BigDecimal value) {
+        return (value == null) ? 0L : value.longValueExact();
+    }
+}
@@ -0,0 +1,49 @@
+package team.avgmax.rabbit.bunny.controller.orderBook;
+
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 이 노드의 compact 구독 현황 (목적지별 구독 수).
+ * compact 구독자가 있는 목적지만 compact 프레임을 만들도록 TopicBroadcaster 가 조회한다.
+ * 구독/해지는 CompactEncodingInterceptor 가 SUBSCRIBE / UNSUBSCRIBE / DISCONNECT 프레임에서 반영한다.
+ */
+@Component
+public class CompactSubscriptions {
+
+    // 세션 id → (구독 id → compact 목적지)
+    private final Map<String, Map<String, String>> bySession = new HashMap<>();
+    // compact 목적지 → 구독 수 (전송 경로에서 잠금 없이 조회)
+    private final Map<String, Integer> counts = new ConcurrentHashMap<>();
+
+    public boolean has(String compactDestination) {
+        return counts.containsKey(compactDestination);
+    }
+
+    public synchronized void add(String sessionId, String subscriptionId, String compactDestination) {
+        String previous = bySession.computeIfAbsent(sessionId, k -> new HashMap<>()).put(subscriptionId, compactDestination);
+        if (previous != null) decrement(previous);
+        counts.merge(compactDestination, 1, Integer::sum);
+    }
+
+    public synchronized void remove(String sessionId, String subscriptionId) {
+        Map<String, String> subscriptions = bySession.get(sessionId);
+        if (subscriptions == null) return;
+        String destination = subscriptions.remove(subscriptionId);
+        if (destination != null) decrement(destination);
+        if (subscriptions.isEmpty()) bySession.remove(sessionId);
+    }
+
+    public synchronized void removeSession(String sessionId) {
+        Map<String, String> subscriptions = bySession.remove(sessionId);
+        if (subscriptions == null) return;
+        subscriptions.values().forEach(this::decrement);
+    }
+
+    private void decrement(String destination) {
+        counts.computeIfPresent(destination, (k, n) -> (n > 1) ? n - 1 : null);
+    }
+}
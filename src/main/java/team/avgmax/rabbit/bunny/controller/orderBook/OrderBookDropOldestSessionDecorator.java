@@ -0,0 +1,226 @@
+package team.avgmax.rabbit.bunny.controller.orderBook;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * 세션별 송신 버퍼.
+ * 실제 전송은 별도 송신 스레드에서 하므로 느린 클라이언트가 clientOutboundChannel 스레드를 붙잡지 않는다.
+ * 한 프레임 전송이 송신 시간 한도를 넘으면 세션을 끊는다 (메시지 도착 시와 OrderBookOutboundDecoratorFactory 의 주기 점검에서 확인,
+ * 끊으면 막혀 있던 쓰기도 풀려 송신 스레드가 반환된다).
+ * 버퍼 한도를 넘으면 오래된 호가창 프레임부터 버리고, 프레임을 잃은 구독마다 resync 표시 프레임({@value #RESYNC_HEADER} 헤더)을 먼저 보내
+ * 클라이언트가 다음 Diff 를 기다리지 않고 바로 orderbook.resync 를 요청하게 한다.
+ * 버릴 호가창 프레임이 없는데도 넘치면 세션을 끊는다.
+ */
+@Slf4j
+public class OrderBookDropOldestSessionDecorator extends WebSocketSessionDecorator {
+
+    public static final String RESYNC_HEADER = "x-orderbook-resync";
+    private static final String RESYNC_BODY = "{\"resync\":true}";
+
+    private final Executor sendExecutor;
+    private final int sendTimeLimit;
+    private final int bufferSizeLimit;
+
+    private final Deque<WebSocketMessage<?>> buffer = new ArrayDeque<>();
+    private final Map<String, TextMessage> pendingResync = new HashMap<>(); // buffer 로 보호 (구독 id → 아직 안 보낸 resync 표시)
+    private long resyncCount;                    // buffer 로 보호
+    private int bufferSize;                      // buffer 로 보호
+    private boolean sending;                     // buffer 로 보호
+    private volatile long sendStartTime;
+    private volatile boolean closed;
+
+    public OrderBookDropOldestSessionDecorator(WebSocketSession delegate, Executor sendExecutor,
+                                               int sendTimeLimit, int bufferSizeLimit) {
+        super(delegate);
+        this.sendExecutor = sendExecutor;
+        this.sendTimeLimit = sendTimeLimit;
+        this.bufferSizeLimit = bufferSizeLimit;
+    }
+
+    @Override
+    public void sendMessage(WebSocketMessage<?> message) throws IOException {
+        if (closed) return;
+        if (checkSendTimeLimit()) return;
+
+        boolean startDrain;
+        boolean overflow;
+        synchronized (buffer) {
+            buffer.addLast(message);
+            bufferSize += message.getPayloadLength();
+            overflow = !enforceBufferLimit();
+            startDrain = !overflow && !sending;
+            if (startDrain) sending = true;
+        }
+
+        if (overflow) {
+            terminate("송신 버퍼 한도 초과");
+            return;
+        }
+        if (startDrain) {
+            sendExecutor.execute(this::drain);
+        }
+    }
+
+    // 진행 중인 전송이 송신 시간 한도를 넘었으면 세션 종료. 종료했으면 true
+    public boolean checkSendTimeLimit() {
+        long start = sendStartTime;
+        if (closed || start == 0 || System.currentTimeMillis() - start <= sendTimeLimit) return closed;
+        terminate("송신 시간 한도 초과");
+        return true;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    private void drain() {
+        while (!closed) {
+            WebSocketMessage<?> next;
+            synchronized (buffer) {
+                next = buffer.pollFirst();
+                if (next == null) {
+                    sending = false;
+                    return;
+                }
+                bufferSize -= next.getPayloadLength();
+                pendingResync.values().remove(next);
+            }
+
+            try {
+                sendStartTime = System.currentTimeMillis();
+                getDelegate().sendMessage(next);
+            } catch (IOException | RuntimeException e) {
+                log.debug("WebSocket 전송 실패: sessionId={}", getId(), e);
+                terminate("전송 실패");
+                return;
+            } finally {
+                sendStartTime = 0;
+            }
+        }
+    }
+
+    // 버퍼 한도 초과 시 오래된 호가창 프레임부터 제거하고 프레임을 잃은 구독에 resync 표시를 맨 앞에 넣음. 그래도 초과면 false
+    private boolean enforceBufferLimit() {
+        if (bufferSize <= bufferSizeLimit) return true;
+
+        Map<String, String> lost = new LinkedHashMap<>(); // 구독 id → 목적지
+        int dropped = 0;
+        Iterator<WebSocketMessage<?>> it = buffer.iterator();
+        while (it.hasNext() && bufferSize > bufferSizeLimit) {
+            WebSocketMessage<?> queued = it.next();
+            String[] target = orderBookTarget(queued);
+            if (target == null || pendingResync.containsValue(queued)) continue;
+
+            it.remove();
+            bufferSize -= queued.getPayloadLength();
+            lost.putIfAbsent(target[1], target[0]);
+            dropped++;
+        }
+        boolean fits = bufferSize <= bufferSizeLimit;
+        if (dropped == 0) return fits;
+
+        log.debug("느린 세션 호가 프레임 폐기: sessionId={}, dropped={}, bufferSize={}", getId(), dropped, bufferSize);
+        if (fits) {
+            // 같은 구독에 아직 안 보낸 표시가 있으면 그것으로 충분
+            lost.forEach((subscription, destination) -> {
+                if (pendingResync.containsKey(subscription)) return;
+                TextMessage marker = resyncMarker(destination, subscription);
+                pendingResync.put(subscription, marker);
+                buffer.addFirst(marker);
+                bufferSize += marker.getPayloadLength();
+            });
+        }
+        return fits;
+    }
+
+    // 잃은 프레임과 같은 목적지/구독으로 보내는 빈 호가 프레임 (본문은 JSON / compact 구독 모두 {"resync":true})
+    private TextMessage resyncMarker(String destination, String subscription) {
+        byte[] body = RESYNC_BODY.getBytes(StandardCharsets.UTF_8);
+        return new TextMessage("MESSAGE\n" +
+                "destination:" + destination + "\n" +
+                "subscription:" + subscription + "\n" +
+                "message-id:" + getId() + "-resync-" + (resyncCount++) + "\n" +
+                RESYNC_HEADER + ":true\n" +
+                "content-type:application/json\n" +
+                "content-length:" + body.length + "\n" +
+                "\n" + RESYNC_BODY + "\u0000");
+    }
+
+    private void terminate(String reason) {
+        if (closed) return;
+        closed = true;
+        synchronized (buffer) {
+            buffer.clear();
+            bufferSize = 0;
+            pendingResync.clear();
+        }
+        log.warn("WebSocket {}로 세션 종료: sessionId={}", reason, getId());
+        try {
+            getDelegate().close(CloseStatus.SESSION_NOT_RELIABLE);
+        } catch (IOException | RuntimeException e) {
+            log.debug("WebSocket 세션 종료 실패: sessionId={}", getId(), e);
+        }
+    }
+
+    // STOMP MESSAGE 프레임(텍스트/바이너리) 중 호가창 토픽(/topic/bunnies/{name}/orderbook...) 만 폐기 대상. 반환: {목적지, 구독 id} 또는 null
+    static String[] orderBookTarget(WebSocketMessage<?> message) {
+        String headers = headersOf(message);
+        if (headers == null || !headers.startsWith("MESSAGE")) return null;
+
+        String destination = header(headers, "destination");
+        String subscription = header(headers, "subscription");
+        if (destination == null || subscription == null) return null;
+        if (!destination.startsWith("/topic/bunnies/") || !destination.contains("/orderbook")) return null;
+        return new String[]{destination, subscription};
+    }
+
+    // 프레임의 헤더 부분 (본문 앞 빈 줄까지)
+    private static String headersOf(WebSocketMessage<?> message) {
+        if (message instanceof TextMessage text) {
+            String payload = text.getPayload();
+            int end = payload.indexOf("\n\n");
+            return (end < 0) ? payload : payload.substring(0, end);
+        }
+        if (message instanceof BinaryMessage binary) {
+            ByteBuffer payload = binary.getPayload().asReadOnlyBuffer();
+            int start = payload.position();
+            int limit = payload.limit();
+            int end = limit;
+            for (int i = start; i + 1 < limit; i++) {
+                if (payload.get(i) == '\n' && payload.get(i + 1) == '\n') {
+                    end = i;
+                    break;
+                }
+            }
+            byte[] headers = new byte[end - start];
+            payload.get(headers);
+            return new String(headers, StandardCharsets.UTF_8);
+        }
+        return null;
+    }
+
+    private static String header(String headers, String name) {
+        int start = headers.indexOf("\n" + name + ":");
+        if (start < 0) return null;
+        start += name.length() + 2;
+        int end = headers.indexOf('\n', start);
+        return (end < 0) ? headers.substring(start) : headers.substring(start, end);
+    }
+}
@@ -0,0 +1,84 @@
+package team.avgmax.rabbit.bunny.controller.orderBook;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 모든 STOMP 세션을 OrderBookDropOldestSessionDecorator 로 감싼다 (WebSocketConfig 에서 등록)
+// 새 메시지가 없어도 송신 시간 한도를 넘긴 세션을 끊도록 주기적으로 점검한다
+@Component
+public class OrderBookOutboundDecoratorFactory implements WebSocketHandlerDecoratorFactory {
+
+    private final ExecutorService sendExecutor;
+    private final ScheduledExecutorService watchdog;
+    private final Set<OrderBookDropOldestSessionDecorator> sessions = ConcurrentHashMap.newKeySet();
+    private final int sendTimeLimit;
+    private final int bufferSizeLimit;
+
+    public OrderBookOutboundDecoratorFactory(
+            @Value("${app.websocket.outbound.send-threads:0}") int sendThreads,
+            @Value("${app.websocket.outbound.send-time-limit-ms:10000}") int sendTimeLimit,
+            @Value("${app.websocket.outbound.send-buffer-size-limit:524288}") int bufferSizeLimit
+    ) {
+        int n = (sendThreads > 0) ? sendThreads : Runtime.getRuntime().availableProcessors() * 2;
+        AtomicInteger seq = new AtomicInteger();
+        this.sendExecutor = Executors.newFixedThreadPool(n, r -> {
+            Thread t = new Thread(r, "ws-send-" + seq.getAndIncrement());
+            t.setDaemon(true);
+            return t;
+        });
+        this.sendTimeLimit = sendTimeLimit;
+        this.bufferSizeLimit = bufferSizeLimit;
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "ws-send-watchdog");
+            t.setDaemon(true);
+            return t;
+        });
+        long checkInterval = Math.max(100L, sendTimeLimit / 4);
+        watchdog.scheduleWithFixedDelay(this::checkSendTimeLimits, checkInterval, checkInterval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                OrderBookDropOldestSessionDecorator decorated =
+                        new OrderBookDropOldestSessionDecorator(session, sendExecutor, sendTimeLimit, bufferSizeLimit);
+                sessions.add(decorated);
+                super.afterConnectionEstablished(decorated);
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                sessions.removeIf(s -> s.getId().equals(session.getId()));
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    private void checkSendTimeLimits() {
+        for (OrderBookDropOldestSessionDecorator session : sessions) {
+            if (session.checkSendTimeLimit()) sessions.remove(session);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        watchdog.shutdown();
+        sendExecutor.shutdown();
+    }
+}
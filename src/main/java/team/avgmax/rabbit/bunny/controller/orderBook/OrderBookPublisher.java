@@ -1,28 +1,146 @@
 package team.avgmax.rabbit.bunny.controller.orderBook;
 
-import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import team.avgmax.rabbit.bunny.dto.orderBook.OrderBookDiff;
+import team.avgmax.rabbit.bunny.dto.orderBook.OrderBookLevel;
+import team.avgmax.rabbit.bunny.dto.orderBook.OrderBookSnapshot;
+import team.avgmax.rabbit.bunny.entity.enums.OrderType;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 호가창 Diff 발행기.
+ * 버니별로 conflation 윈도우 동안 들어온 Diff 를 (매수/매도, 가격) 레벨 기준 마지막 값만 남겨 합치고, 윈도우마다 1건만 전송한다.
+ */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class OrderBookPublisher {
 
-    private final SimpMessagingTemplate messaging;
+    private final TopicBroadcaster broadcaster;
+    private final long windowMillis;
+
+    // 버니 이름 → 아직 전송하지 않은 병합 Diff
+    private final Map<String, PendingDiff> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flusher;
+
+    public OrderBookPublisher(TopicBroadcaster broadcaster,
+                              @Value("${app.websocket.conflation-window-ms:50}") long windowMillis) {
+        this.broadcaster = broadcaster;
+        this.windowMillis = windowMillis;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "orderbook-conflation");
+            t.setDaemon(true);
+            return t;
+        });
+        if (windowMillis > 0) {
+            flusher.scheduleAtFixedRate(this::flush, windowMillis, windowMillis, TimeUnit.MILLISECONDS);
+        }
+    }
 
     public void publishDiff(String bunnyName, OrderBookDiff diff) {
+        // 윈도우 0 이면 즉시 전송
+        if (windowMillis <= 0) {
+            send(bunnyName, diff);
+            return;
+        }
+        pending.compute(bunnyName, (k, cur) -> (cur == null) ? new PendingDiff(diff) : cur.merge(diff));
+    }
+
+    private void flush() {
+        for (String bunnyName : pending.keySet()) {
+            PendingDiff merged = pending.remove(bunnyName);
+            if (merged == null) continue;
+            try {
+                send(bunnyName, merged.toDiff());
+            } catch (Exception e) {
+                // 한 버니 전송 실패가 다른 버니/다음 윈도우를 막지 않도록
+                log.warn("호가 diff 전송 실패: bunnyName={}", bunnyName, e);
+            }
+        }
+    }
+
+    private void send(String bunnyName, OrderBookDiff diff) {
         String destination = "/topic/bunnies/" + bunnyName + "/orderbook";
-        log.info(
-                "호가 diff 전송: destination={}, orderUpserts={}, orderDeletes={}, currentPrice={}",
+        log.debug(
+                "호가 diff 전송: destination={}, orderUpserts={}, orderDeletes={}, currentPrice={}, sequence={}",
                 destination,
                 diff.orderUpserts().size(),
                 diff.orderDeletes().size(),
-                diff.currentPrice()
+                diff.currentPrice(),
+                diff.sequence()
         );
 
-        messaging.convertAndSend(destination, diff);
+        // compact 구독자에게는 TopicBroadcaster 가 필요할 때만 변환해 전달
+        broadcaster.relay(destination, diff, diff.sequence());
+    }
+
+    // STOMP 스냅샷 요청 응답 (JSON / compact 구독자 모두에게, 요청한 노드에서만 전송)
+    public void publishSnapshot(String bunnyName, OrderBookSnapshot snapshot) {
+        broadcaster.broadcast("/topic/bunnies/" + bunnyName + "/orderbook", snapshot);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdown();
+        flush();
+    }
+
+    // 윈도우 동안 누적된 Diff (매수/매도 가격 레벨별 마지막 상태, quantity 0 이면 삭제)
+    private static final class PendingDiff {
+        private final String bunnyName;
+        private final long epoch;
+        private final long prevSequence;
+        private final Map<LevelKey, OrderBookLevel> levels = new LinkedHashMap<>();
+        private BigDecimal currentPrice;
+        private long sequence;
+        private long serverTime;
+
+        private PendingDiff(OrderBookDiff first) {
+            this.bunnyName = first.bunnyName();
+            this.epoch = first.epoch();
+            this.prevSequence = first.prevSequence();
+            merge(first);
+        }
+
+        private PendingDiff merge(OrderBookDiff diff) {
+            for (OrderBookLevel level : diff.orderDeleteLevels()) {
+                levels.put(LevelKey.of(level), level);
+            }
+            for (OrderBookLevel level : diff.orderUpserts()) {
+                levels.put(LevelKey.of(level), level);
+            }
+            this.currentPrice = diff.currentPrice();
+            this.sequence = diff.sequence();
+            this.serverTime = diff.serverTime();
+            return this;
+        }
+
+        private OrderBookDiff toDiff() {
+            List<OrderBookLevel> upserts = new ArrayList<>();
+            List<OrderBookLevel> deletes = new ArrayList<>();
+            for (OrderBookLevel level : levels.values()) {
+                if (level.quantity().signum() > 0) upserts.add(level);
+                else deletes.add(level);
+            }
+            return OrderBookDiff.of(bunnyName, upserts, deletes, currentPrice, epoch, sequence, prevSequence, serverTime);
+        }
+    }
+
+    // 같은 가격이라도 매수/매도는 다른 레벨 (가격은 scale 차이 없이 비교)
+    private record LevelKey(OrderType type, BigDecimal price) {
+        static LevelKey of(OrderBookLevel level) {
+            return new LevelKey(level.type(), level.price().stripTrailingZeros());
+        }
     }
 }
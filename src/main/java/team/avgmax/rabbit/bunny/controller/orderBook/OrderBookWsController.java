@@ -4,8 +4,11 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
-import org.springframework.messaging.handler.annotation.SendTo;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.messaging.simp.annotation.SendToUser;
 import org.springframework.stereotype.Controller;
+import team.avgmax.rabbit.bunny.dto.orderBook.OrderBookResync;
+import team.avgmax.rabbit.bunny.dto.orderBook.OrderBookResyncRequest;
 import team.avgmax.rabbit.bunny.dto.orderBook.OrderBookSnapshot;
 import team.avgmax.rabbit.bunny.service.BunnyService;
 
@@ -15,13 +18,25 @@ import team.avgmax.rabbit.bunny.service.BunnyService;
 public class OrderBookWsController {
 
     private final BunnyService bunnyService;
+    private final OrderBookPublisher orderBookPublisher;
 
+    // JSON(/topic/bunnies/{bunnyName}/orderbook) 과 compact(.compact) 구독자 모두에게 전송
     @MessageMapping("bunnies/{bunnyName}/orderbook.snapshot") // Controller 의 @RequestMapping("/bunnies") 이랑 상관없음
-    @SendTo("/topic/bunnies/{bunnyName}/orderbook")
-    public OrderBookSnapshot sendSnapshot(@DestinationVariable String bunnyName) {
+    public void sendSnapshot(@DestinationVariable String bunnyName) {
         OrderBookSnapshot snapshot = bunnyService.getOrderBookSnapshot(bunnyName);
         log.debug("WS snapshot 요청: bunnyName={}, ordersCount={}", bunnyName, snapshot.orders().size());
 
-        return snapshot;
+        orderBookPublisher.publishSnapshot(bunnyName, snapshot);
+    }
+
+    // 누락(sequence 불연속) 감지 시 요청한 세션에게만 응답
+    @MessageMapping("bunnies/{bunnyName}/orderbook.resync")
+    @SendToUser(destinations = "/queue/bunnies/{bunnyName}/orderbook", broadcast = false)
+    public OrderBookResync resync(@DestinationVariable String bunnyName, @Payload OrderBookResyncRequest request) {
+        OrderBookResync resync = bunnyService.resyncOrderBook(bunnyName, request.epoch(), request.afterSequence());
+        log.debug("WS resync 요청: bunnyName={}, afterSequence={}, diffs={}, snapshot={}",
+                bunnyName, request.afterSequence(), resync.diffs().size(), resync.snapshot() != null);
+
+        return resync;
     }
 }
@@ -0,0 +1,268 @@
+package team.avgmax.rabbit.bunny.controller.orderBook;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+import team.avgmax.rabbit.global.util.UlidGenerator;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 방송형 토픽 전송기.
+ * payload 를 발행 1회당 한 번만 byte[] 로 직렬화해 브로커에 넘긴다.
+ * SimpleBroker 는 같은 byte[] 를 모든 구독 세션에 그대로 전달하므로 구독자 수가 늘어도 변환 비용은 늘지 않는다.
+ *
+ * relay 로 보낸 메시지는 로컬 브로커에 먼저 전달한 뒤 Redis 채널로 다른 노드에 재발행한다.
+ * 수신 노드는 자기 메시지를 무시하고, (발신 노드, 목적지)별 sequence 가 이미 전달한 값 이하면 버린다.
+ * sequence 는 노드마다 독립적으로 매기므로 발신 노드가 다르면 서로 비교하지 않는다.
+ * Redis 발행 대기열이 가득 차면 Diff/종가는 버리지 않고 호출 스레드가 기다리며(그 사이 conflation 이 더 많이 병합),
+ * 현재가/지수(relayLatest)는 목적지별 최신 값 하나만 대기열에 남긴다.
+ * Redis 장애 시에도 로컬 구독자 전송은 그대로 유지된다.
+ *
+ * compact 형태는 노드 사이에 보내지 않는다. 각 노드가 자기에게 compact 구독자가 있는 목적지만 변환해 전달한다.
+ */
+@Slf4j
+@Component
+public class TopicBroadcaster implements MessageListener {
+
+    private static final byte ENVELOPE_END = '\n';
+
+    private final SimpMessagingTemplate messaging;
+    private final ObjectMapper objectMapper;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final CompactSubscriptions compactSubscriptions;
+    private final boolean relayEnabled;
+    private final String channel;
+    private final byte[] channelBytes;
+
+    private final String nodeId = UlidGenerator.generate();
+    // 발신 노드|목적지 → 마지막으로 전달한 sequence
+    private final Map<String, Long> lastSequence = new ConcurrentHashMap<>();
+    // relayLatest 목적지 → 이 노드의 단조 증가 sequence (시계와 무관)
+    private final Map<String, AtomicLong> latestSequence = new ConcurrentHashMap<>();
+    // relayLatest 목적지 → 아직 발행하지 않은 최신 envelope (목적지당 대기 작업은 1개)
+    private final Map<String, byte[]> pendingLatest = new ConcurrentHashMap<>();
+    // Redis 발행 전용 스레드 (Redis 지연이 매칭 스레드를 막지 않도록)
+    private final ThreadPoolExecutor relayExecutor;
+    private final AtomicLong relayBackpressureCount = new AtomicLong();
+
+    public TopicBroadcaster(SimpMessagingTemplate messaging,
+                            ObjectMapper objectMapper,
+                            RedisTemplate<String, Object> redisTemplate,
+                            RedisMessageListenerContainer redisMessageListenerContainer,
+                            CompactSubscriptions compactSubscriptions,
+                            @Value("${app.websocket.relay.enabled:true}") boolean relayEnabled,
+                            @Value("${app.websocket.relay.channel:ws:relay}") String channel,
+                            @Value("${app.websocket.relay.queue-capacity:10000}") int queueCapacity) {
+        this.messaging = messaging;
+        this.objectMapper = objectMapper;
+        this.redisTemplate = redisTemplate;
+        this.redisMessageListenerContainer = redisMessageListenerContainer;
+        this.compactSubscriptions = compactSubscriptions;
+        this.relayEnabled = relayEnabled;
+        this.channel = channel;
+        this.channelBytes = channel.getBytes(StandardCharsets.UTF_8);
+        this.relayExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "ws-redis-relay");
+                    t.setDaemon(true);
+                    return t;
+                },
+                this::waitForRelayQueue);
+    }
+
+    @PostConstruct
+    public void init() {
+        if (!relayEnabled) return;
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(channel));
+        log.info("WebSocket Redis relay 구독 시작: channel={}, nodeId={}", channel, nodeId);
+    }
+
+    // 이 노드 구독자에게만 전송 (예: 스냅샷 요청 응답)
+    public void broadcast(String destination, Object payload) {
+        byte[] body = serialize(destination, payload);
+        if (body == null) return;
+        deliverLocal(destination, body);
+        deliverCompact(destination, payload);
+    }
+
+    // 이 노드 + 다른 노드 구독자에게 전송. sequence 가 0 이하면 중복 제거 없이 항상 전달
+    public void relay(String destination, Object payload, long sequence) {
+        byte[] body = serialize(destination, payload);
+        if (body == null) return;
+        if (markDelivered(nodeId, destination, sequence)) {
+            deliverLocal(destination, body);
+            deliverCompact(destination, payload);
+        }
+        if (relayEnabled) {
+            byte[] envelope = envelope(destination, sequence, body);
+            relayExecutor.execute(() -> publish(destination, envelope));
+        }
+    }
+
+    // 최신 값만 의미 있는 토픽(현재가, 지수). sequence 는 목적지별 카운터로 매기고, Redis 가 밀리면 이전 값은 덮어씀
+    public void relayLatest(String destination, Object payload) {
+        byte[] body = serialize(destination, payload);
+        if (body == null) return;
+        long sequence = latestSequence.computeIfAbsent(destination, k -> new AtomicLong()).incrementAndGet();
+        if (markDelivered(nodeId, destination, sequence)) {
+            deliverLocal(destination, body);
+            deliverCompact(destination, payload);
+        }
+        if (relayEnabled && pendingLatest.put(destination, envelope(destination, sequence, body)) == null) {
+            relayExecutor.execute(() -> {
+                byte[] envelope = pendingLatest.remove(destination);
+                if (envelope != null) publish(destination, envelope);
+            });
+        }
+    }
+
+    @Override
+    public void onMessage(@NonNull Message message, @Nullable byte[] pattern) {
+        byte[] envelope = message.getBody();
+        int end = indexOf(envelope, ENVELOPE_END);
+        if (end < 0) return;
+
+        // origin|sequence|destination\n payload
+        String[] header = new String(envelope, 0, end, StandardCharsets.UTF_8).split("\\|", 3);
+        if (header.length != 3 || nodeId.equals(header[0])) return;
+
+        String destination = header[2];
+        long sequence = Long.parseLong(header[1]);
+        if (!markDelivered(header[0], destination, sequence)) return;
+
+        byte[] body = Arrays.copyOfRange(envelope, end + 1, envelope.length);
+        deliverLocal(destination, body);
+
+        // 이 노드에 compact 구독자가 있을 때만 JSON 을 읽어 변환
+        String compactDestination = destination + CompactFrames.SUFFIX;
+        if (!compactSubscriptions.has(compactDestination)) return;
+        try {
+            Object compact = CompactFrames.encode(destination, body, objectMapper);
+            byte[] compactBody = (compact != null) ? serialize(compactDestination, compact) : null;
+            if (compactBody != null) deliverLocal(compactDestination, compactBody);
+        } catch (IOException e) {
+            log.warn("relay compact 변환 실패: destination={}", destination, e);
+        }
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    // origin 노드가 destination 으로 보낸 것 중 이 노드가 마지막으로 전달한 sequence (없으면 0)
+    public long lastSequence(String origin, String destination) {
+        return lastSequence.getOrDefault(origin + "|" + destination, 0L);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        relayExecutor.shutdown();
+    }
+
+    private void deliverLocal(String destination, byte[] body) {
+        // 이미 직렬화된 byte[] 이므로 MessageConverter 를 거치지 않도록 send 로 전달
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        accessor.setLeaveMutable(true);
+        messaging.send(destination, MessageBuilder.createMessage(body, accessor.getMessageHeaders()));
+    }
+
+    // compact 구독자가 있는 목적지만 변환/직렬화
+    private void deliverCompact(String destination, Object payload) {
+        String compactDestination = destination + CompactFrames.SUFFIX;
+        if (!compactSubscriptions.has(compactDestination)) return;
+
+        Object compact = CompactFrames.encode(payload);
+        if (compact == null) return;
+        byte[] body = serialize(compactDestination, compact);
+        if (body != null) deliverLocal(compactDestination, body);
+    }
+
+    // 대기열이 가득 차면 버리지 않고 빈자리가 날 때까지 호출 스레드가 기다림 (Diff 누락 방지)
+    private void waitForRelayQueue(Runnable task, ThreadPoolExecutor executor) {
+        if (executor.isShutdown()) return;
+        long count = relayBackpressureCount.incrementAndGet();
+        if (count == 1 || count % 1000 == 0) {
+            log.warn("Redis relay 대기열 가득 참, 발행 대기: waits={}", count);
+        }
+        try {
+            executor.getQueue().put(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Redis relay 발행 대기 중 인터럽트: 다른 노드는 sequence 불연속으로 resync");
+        }
+    }
+
+    private void publish(String destination, byte[] envelope) {
+        try {
+            redisTemplate.execute((RedisCallback<Long>) connection -> connection.publish(channelBytes, envelope));
+        } catch (Exception e) {
+            // 로컬 구독자에게는 이미 전달됨. 다른 노드는 sequence 불연속으로 resync
+            log.warn("Redis relay 발행 실패: destination={}", destination, e);
+        }
+    }
+
+    private boolean markDelivered(String origin, String destination, long sequence) {
+        if (sequence <= 0) return true;
+        boolean[] fresh = new boolean[1];
+        lastSequence.compute(origin + "|" + destination, (k, last) -> {
+            if (last != null && last >= sequence) return last;
+            fresh[0] = true;
+            return sequence;
+        });
+        return fresh[0];
+    }
+
+    private byte[] serialize(String destination, Object payload) {
+        try {
+            return objectMapper.writeValueAsBytes(payload);
+        } catch (JsonProcessingException e) {
+            log.warn("브로드캐스트 직렬화 실패: destination={}", destination, e);
+            return null;
+        }
+    }
+
+    private byte[] envelope(String destination, long sequence, byte[] body) {
+        byte[] header = (nodeId + "|" + sequence + "|" + destination).getBytes(StandardCharsets.UTF_8);
+        byte[] envelope = new byte[header.length + 1 + body.length];
+        System.arraycopy(header, 0, envelope, 0, header.length);
+        envelope[header.length] = ENVELOPE_END;
+        System.arraycopy(body, 0, envelope, header.length + 1, body.length);
+        return envelope;
+    }
+
+    private static int indexOf(byte[] bytes, byte target) {
+        for (int i = 0; i < bytes.length; i++) {
+            if (bytes[i] == target) return i;
+        }
+        return -1;
+    }
+}
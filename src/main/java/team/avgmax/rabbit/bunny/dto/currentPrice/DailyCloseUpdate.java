@@ -0,0 +1,10 @@
+package team.avgmax.rabbit.bunny.dto.currentPrice;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// 자정 종가 확정 결과 (전체 버니를 1건으로 묶어 /topic/close 로 전송)
+public record DailyCloseUpdate(
+        LocalDate date,
+        List<ClosingPriceUpdate> closes
+) {}
@@ -6,10 +6,29 @@ import java.util.List;
 // OrderBookSnapshot : 프론트에서 처음 들어올 때 REST 로 한 번만
 // OrderBookDiff : 주문 생성, 취소, 체결 이벤트가 일어날 때마다 WebSocket 으로 push
 // Diff 규칙 : upsert(추가/수정), delete(취소)
+// 누락 감지 : prevSequence 가 마지막으로 받은 sequence 와 다르면 orderbook.resync 요청
+// 재기동 감지 : epoch 가 스냅샷의 epoch 와 다르면 다른 서버 실행의 sequence 이므로 전체 스냅샷부터 다시 받음
+// 필드 추가 : orderDeleteLevels 는 같은 가격의 매수/매도 레벨을 구분하기 위해 추가한 필드.
+//            기존 클라이언트를 위해 orderDeletes(가격 목록)도 그대로 보내며, 새 클라이언트는 orderDeleteLevels 를 사용
 public record OrderBookDiff(
         String bunnyName,
         List<OrderBookLevel> orderUpserts,
-        List<BigDecimal> orderDeletes,
+        List<BigDecimal> orderDeletes,            // 삭제된 가격 (매수/매도 구분 없음, 기존 형식)
+        List<OrderBookLevel> orderDeleteLevels,   // 삭제된 레벨 (type 으로 매수/매도 구분, quantity 0)
         BigDecimal currentPrice,
+        long epoch,         // 호가창을 관리하는 서버 실행 식별값 (재기동하면 바뀜, sequence 는 같은 epoch 안에서만 비교)
+        long sequence,      // 이 Diff 적용 후 호가창 버전
+        long prevSequence,  // 이 Diff 적용 전 호가창 버전 (클라이언트의 마지막 sequence 와 다르면 누락 → resync)
         long serverTime
-) {}
+) {
+    // orderDeletes 는 삭제 레벨의 가격으로 채움
+    public static OrderBookDiff of(String bunnyName, List<OrderBookLevel> orderUpserts, List<OrderBookLevel> orderDeleteLevels,
+                                   BigDecimal currentPrice, long epoch, long sequence, long prevSequence, long serverTime) {
+        List<BigDecimal> orderDeletes = orderDeleteLevels.stream()
+                .map(OrderBookLevel::price)
+                .distinct()
+                .toList();
+        return new OrderBookDiff(bunnyName, orderUpserts, orderDeletes, orderDeleteLevels,
+                currentPrice, epoch, sequence, prevSequence, serverTime);
+    }
+}
@@ -0,0 +1,18 @@
+package team.avgmax.rabbit.bunny.dto.orderBook;
+
+import java.util.List;
+
+// resync 응답 : 같은 epoch 이고 버퍼에 남아 있으면 afterSequence 이후 Diff 만, 아니면 전체 스냅샷
+public record OrderBookResync(
+        String bunnyName,
+        List<OrderBookDiff> diffs,      // 순서대로 적용할 Diff (스냅샷 응답이면 빈 목록)
+        OrderBookSnapshot snapshot      // 버퍼로 메울 수 없을 때만 채움
+) {
+    public static OrderBookResync ofDiffs(String bunnyName, List<OrderBookDiff> diffs) {
+        return new OrderBookResync(bunnyName, diffs, null);
+    }
+
+    public static OrderBookResync ofSnapshot(OrderBookSnapshot snapshot) {
+        return new OrderBookResync(snapshot.bunnyName(), List.of(), snapshot);
+    }
+}
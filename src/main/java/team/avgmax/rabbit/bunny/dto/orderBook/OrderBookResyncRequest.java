@@ -0,0 +1,7 @@
+package team.avgmax.rabbit.bunny.dto.orderBook;
+
+// 클라이언트가 마지막으로 적용한 호가창 epoch / sequence (epoch 를 모르면 0 → 전체 스냅샷)
+public record OrderBookResyncRequest(
+        long epoch,
+        long afterSequence
+) {}
@@ -1,7 +1,5 @@
 package team.avgmax.rabbit.bunny.dto.orderBook;
 
-import team.avgmax.rabbit.bunny.entity.Bunny;
-
 import java.math.BigDecimal;
 import java.util.List;
 
@@ -9,17 +7,23 @@ public record OrderBookSnapshot(
         String bunnyName,
         List<OrderBookLevel> orders, // 호가창 레벨 목록
         BigDecimal currentPrice,    // 현재 기준 단가 (프론트에서 계산 : ((호가 - 현재가) / 현재가 * 100)
+        long epoch,                 // 호가창을 관리하는 서버 실행 식별값 (Diff 의 epoch 와 다르면 다시 스냅샷)
+        long sequence,              // 호가창 버전 (이후 Diff 와 순서 맞추기용, 변경마다 1씩 증가)
         long serverTime             // 서버 기준 시각(밀리초) → 프론트 동기화/지연 보정 참고용
 ) {
     public static OrderBookSnapshot from(
-            Bunny bunny,
+            String bunnyName,
             List<OrderBookLevel> orders,
-            BigDecimal currentPrice
+            BigDecimal currentPrice,
+            long epoch,
+            long sequence
     ) {
         return new OrderBookSnapshot(
-                bunny.getBunnyName(),
+                bunnyName,
                 orders,
                 currentPrice,
+                epoch,
+                sequence,
                 System.currentTimeMillis()
         );
     }
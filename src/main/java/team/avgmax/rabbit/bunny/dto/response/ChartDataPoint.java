@@ -5,18 +5,24 @@ import com.fasterxml.jackson.databind.annotation.JsonNaming;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
+import lombok.extern.jackson.Jacksonized;
+import team.avgmax.rabbit.bunny.entity.BunnyBar;
 import team.avgmax.rabbit.bunny.entity.BunnyHistory;
+import team.avgmax.rabbit.bunny.entity.BunnyPeriodHistory;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 @Getter
 @Builder
+@Jacksonized
 @AllArgsConstructor
 @JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
 public class ChartDataPoint {
 
     private LocalDate date;
+    private LocalDateTime openTime; // 분봉/시간봉 시작 시각 (일/주/월봉은 null)
     private BigDecimal highPrice;
     private BigDecimal lowPrice;
     private BigDecimal closingPrice;
@@ -35,4 +41,28 @@ public class ChartDataPoint {
                 .tradeVolume(bunnyHistory.getTradeQuantity())
                 .build();
     }
+
+    public static ChartDataPoint from(BunnyPeriodHistory periodHistory) {
+        return ChartDataPoint.builder()
+                .date(periodHistory.getDate())
+                .highPrice(periodHistory.getHighPrice())
+                .lowPrice(periodHistory.getLowPrice())
+                .closingPrice(periodHistory.getClosingPrice())
+                .buyQuantity(periodHistory.getBuyQuantity())
+                .sellQuantity(periodHistory.getSellQuantity())
+                .tradeVolume(periodHistory.getTradeQuantity())
+                .build();
+    }
+
+    // 봉에는 주문량이 없으므로 buy/sellQuantity 는 null
+    public static ChartDataPoint from(BunnyBar bar) {
+        return ChartDataPoint.builder()
+                .date(bar.getOpenTime().toLocalDate())
+                .openTime(bar.getOpenTime())
+                .highPrice(bar.getHighPrice())
+                .lowPrice(bar.getLowPrice())
+                .closingPrice(bar.getClosePrice())
+                .tradeVolume(bar.getVolume())
+                .build();
+    }
 }
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.fasterxml.jackson.databind.annotation.JsonNaming;
 import lombok.Builder;
 import lombok.Getter;
+import lombok.extern.jackson.Jacksonized;
 import team.avgmax.rabbit.bunny.entity.Bunny;
 import team.avgmax.rabbit.bunny.entity.enums.ChartInterval;
 
@@ -11,11 +12,12 @@ import java.util.List;
 
 @Getter
 @Builder
+@Jacksonized
 @JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
 public class ChartResponse {
 
     private String bunnyName; // 혹시 몰라서 추가 해놓은 필드, 삭제 가능
-    private ChartInterval interval; // DAILY, WEEKLY, MONTHLY
+    private ChartInterval interval; // MINUTE, HOURLY, DAILY, WEEKLY, MONTHLY
     private List<ChartDataPoint> chartDataList;
 
     public static ChartResponse from(List<ChartDataPoint> chartDataList, Bunny bunny, ChartInterval interval) {
@@ -5,9 +5,33 @@ import com.fasterxml.jackson.databind.annotation.JsonNaming;
 
 import lombok.Builder;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
 @Builder
 @JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
 public record RabbitIndexResponse(
     double rabbitIndex
 ) {
+    private static final BigDecimal BASE_MARKET_CAP = BigDecimal.valueOf(100_000_000); // 버니당 기준 시가총액
+
+    // RABBIT 지수 = min(현재 시가총액 합 / 기준 시가총액 합 * 100, 200) / 2
+    public static RabbitIndexResponse of(BigDecimal currentMarketCapSum, long bunnyCount) {
+        BigDecimal baseMarketCapSum = BigDecimal.valueOf(bunnyCount).multiply(BASE_MARKET_CAP);
+
+        double rabbitIndex;
+        if (baseMarketCapSum.compareTo(BigDecimal.ZERO) == 0) {
+            rabbitIndex = 100.0;
+        } else {
+            double rawIndex = currentMarketCapSum
+                    .divide(baseMarketCapSum, 4, RoundingMode.HALF_UP)
+                    .multiply(BigDecimal.valueOf(100))
+                    .doubleValue();
+            rabbitIndex = Math.min(rawIndex, 200.0);
+        }
+
+        return RabbitIndexResponse.builder()
+                .rabbitIndex(rabbitIndex / 2.0)
+                .build();
+    }
 }
@@ -3,6 +3,7 @@ package team.avgmax.rabbit.bunny.entity;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.DynamicUpdate;
 import team.avgmax.rabbit.global.entity.BaseTime;
 import team.avgmax.rabbit.global.util.UlidGenerator;
 import team.avgmax.rabbit.bunny.entity.enums.BunnyType;
@@ -12,13 +13,13 @@ import team.avgmax.rabbit.funding.entity.FundBunny;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.IntStream;
 import java.time.LocalDateTime;
 
 import team.avgmax.rabbit.user.entity.PersonalUser;
 
 @Entity
 @Getter
+@DynamicUpdate // 체결(현재가)과 지표 재계산이 서로의 컬럼을 덮어쓰지 않도록 변경된 컬럼만 update
 @SuperBuilder
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
@@ -106,6 +107,10 @@ public class Bunny extends BaseTime {
             throw new IllegalArgumentException("invalid price");
         }
         this.currentPrice = price;
+        // 시가총액 = 현재가 * 발행량
+        if (this.bunnyType != null) {
+            this.marketCap = price.multiply(this.bunnyType.getTotalSupply());
+        }
     }
 
     public void updateClosingPrice(BigDecimal price) {
@@ -148,20 +153,7 @@ public class Bunny extends BaseTime {
             return;
         }
 
-        int maxScore = IntStream.of(growth, stability, value, popularity, balance).max().orElseThrow();
-        if (maxScore == growth) {
-            this.developerType = DeveloperType.GROWTH;
-        } else if (maxScore == stability) {
-            this.developerType = DeveloperType.STABLE;
-        } else if (maxScore == value) {
-            this.developerType = DeveloperType.VALUE;
-        } else if (maxScore == popularity) {
-            this.developerType = DeveloperType.POPULAR;
-        } else if (maxScore == balance) {
-            this.developerType = DeveloperType.BALANCE;
-        } else {
-            this.developerType = DeveloperType.BASIC; // 기본값
-        }
+        this.developerType = DeveloperType.resolve(growth, stability, value, popularity, balance);
     }
 
     public void updateAiReviewAndFeedback(String aiReview, String aiFeedback) {
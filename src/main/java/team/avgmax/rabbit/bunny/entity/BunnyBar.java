@@ -0,0 +1,46 @@
+package team.avgmax.rabbit.bunny.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import team.avgmax.rabbit.bunny.entity.enums.BarInterval;
+import team.avgmax.rabbit.bunny.entity.id.BunnyBarId;
+import team.avgmax.rabbit.global.entity.BaseTime;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// 체결 기반 OHLCV 봉 (1분 / 1시간 / 1일). BarBuilder 가 버킷이 닫힐 때 기록
+@Entity
+@Getter
+@SuperBuilder
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@IdClass(BunnyBarId.class)
+public class BunnyBar extends BaseTime {
+
+    @Id
+    @Column(name = "bunny_id", length = 26, nullable = false)
+    private String bunnyId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "bar_interval", length = 10, nullable = false)
+    private BarInterval barInterval;
+
+    @Id
+    @Column(name = "open_time", nullable = false)
+    private LocalDateTime openTime;
+
+    private BigDecimal openPrice;
+
+    private BigDecimal highPrice;
+
+    private BigDecimal lowPrice;
+
+    private BigDecimal closePrice;
+
+    private BigDecimal volume;      // 체결 수량 합계
+
+    private long tradeCount;        // 체결 건수
+}
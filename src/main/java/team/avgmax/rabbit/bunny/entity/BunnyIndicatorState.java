@@ -0,0 +1,207 @@
+package team.avgmax.rabbit.bunny.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import team.avgmax.rabbit.global.entity.BaseTime;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * 버니별 히스토리 지표 누적 상태. 일일 BunnyHistory 가 기록될 때 O(1) 로 갱신한다.
+ * - 최근 30일 로그수익률: 날짜별 ring + Welford 평균/제곱편차합 (창에서 빠지는 값은 역으로 제거)
+ * - 최근 30일 거래량: 날짜별 ring + 합계/일수
+ * - 첫 종가/날짜, 마지막 종가/날짜 (연환산 성장률)
+ * ring 은 double 30개를 byte[] 로 묶어 저장하고, 값이 없는 날은 NaN
+ */
+@Entity
+@Getter
+@SuperBuilder
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class BunnyIndicatorState extends BaseTime {
+
+    public static final int WINDOW_DAYS = 30;
+    private static final int RING_BYTES = WINDOW_DAYS * Double.BYTES;
+
+    @Id
+    @Column(name = "bunny_id", length = 26, nullable = false)
+    private String bunnyId;
+
+    private LocalDate firstDate;
+
+    private BigDecimal firstClose;
+
+    private LocalDate lastDate;
+
+    private BigDecimal lastClose;
+
+    private int returnCount;
+
+    private double returnMean;
+
+    private double returnM2;
+
+    @Column(name = "return_ring", length = RING_BYTES)
+    private byte[] returns;
+
+    private int volumeDays;
+
+    private double volumeSum;
+
+    @Column(name = "volume_ring", length = RING_BYTES)
+    private byte[] volumes;
+
+    /**
+     * prev(같은 버니의 직전 상태, 없으면 null)에 하루치 히스토리를 반영한 새 상태를 만든다.
+     * 이미 반영한 날짜 이하면 null (재실행 시 중복 반영 방지)
+     */
+    public static BunnyIndicatorState advance(BunnyIndicatorState prev, BunnyHistory day) {
+        if (prev != null && !day.getDate().isAfter(prev.getLastDate())) return null;
+
+        Rolling rolling = (prev != null) ? new Rolling(prev) : new Rolling();
+        long epochDay = day.getDate().toEpochDay();
+
+        // 빠진 날짜(히스토리 없는 날)의 슬롯을 비움. 30일 이상 비었으면 전체가 비워짐
+        if (prev != null) {
+            long from = Math.max(prev.getLastDate().toEpochDay() + 1, epochDay - WINDOW_DAYS + 1);
+            for (long d = from; d < epochDay; d++) {
+                rolling.evict(slot(d));
+            }
+        }
+        rolling.evict(slot(epochDay));
+        rolling.put(slot(epochDay),
+                (prev != null) ? logReturn(prev.getLastClose(), day.getClosingPrice()) : Double.NaN,
+                (day.getTradeQuantity() != null && day.getTradeQuantity().signum() > 0) ? day.getTradeQuantity().doubleValue() : 0.0);
+
+        return BunnyIndicatorState.builder()
+                .bunnyId(day.getBunnyId())
+                .firstDate((prev != null) ? prev.getFirstDate() : day.getDate())
+                .firstClose((prev != null) ? prev.getFirstClose() : day.getClosingPrice())
+                .lastDate(day.getDate())
+                .lastClose(day.getClosingPrice())
+                .returnCount(rolling.returnCount)
+                .returnMean(rolling.returnMean)
+                .returnM2(rolling.returnM2)
+                .returns(encode(rolling.returns))
+                .volumeDays(rolling.volumeDays)
+                .volumeSum(rolling.volumeSum)
+                .volumes(encode(rolling.volumes))
+                .build();
+    }
+
+    // 최근 30일 로그수익률의 표준편차(%)
+    public double volatilityPct() {
+        if (returnCount == 0) return 0.0;
+        return Math.sqrt(Math.max(0, returnM2) / returnCount) * 100;
+    }
+
+    // 최근 30일 일평균 거래량 (히스토리가 있는 날 기준)
+    public double averageDailyVolume() {
+        if (volumeDays == 0) return 0.0;
+        return volumeSum / volumeDays;
+    }
+
+    // 첫 히스토리 ~ 마지막 히스토리 일수
+    public long spanDays() {
+        if (firstDate == null || lastDate == null) return 0;
+        return lastDate.toEpochDay() - firstDate.toEpochDay();
+    }
+
+    // 직전 종가가 없거나 0 이하, 당일 종가가 없거나 0 이하면 수익률 없음
+    private static double logReturn(BigDecimal prev, BigDecimal curr) {
+        if (prev == null || curr == null || prev.signum() <= 0 || curr.signum() <= 0) return Double.NaN;
+        return Math.log(curr.doubleValue() / prev.doubleValue());
+    }
+
+    private static int slot(long epochDay) {
+        return (int) Math.floorMod(epochDay, (long) WINDOW_DAYS);
+    }
+
+    private static byte[] encode(double[] values) {
+        ByteBuffer buffer = ByteBuffer.allocate(RING_BYTES);
+        for (double v : values) buffer.putDouble(v);
+        return buffer.array();
+    }
+
+    private static double[] decode(byte[] bytes) {
+        double[] values = emptyRing();
+        if (bytes == null || bytes.length != RING_BYTES) return values;
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        for (int i = 0; i < WINDOW_DAYS; i++) values[i] = buffer.getDouble();
+        return values;
+    }
+
+    private static double[] emptyRing() {
+        double[] values = new double[WINDOW_DAYS];
+        Arrays.fill(values, Double.NaN);
+        return values;
+    }
+
+    // advance 중에만 쓰는 가변 작업 상태
+    private static final class Rolling {
+        private final double[] returns;
+        private final double[] volumes;
+        private int returnCount;
+        private double returnMean;
+        private double returnM2;
+        private int volumeDays;
+        private double volumeSum;
+
+        private Rolling() {
+            this.returns = emptyRing();
+            this.volumes = emptyRing();
+        }
+
+        private Rolling(BunnyIndicatorState state) {
+            this.returns = decode(state.getReturns());
+            this.volumes = decode(state.getVolumes());
+            this.returnCount = state.getReturnCount();
+            this.returnMean = state.getReturnMean();
+            this.returnM2 = state.getReturnM2();
+            this.volumeDays = state.getVolumeDays();
+            this.volumeSum = state.getVolumeSum();
+        }
+
+        private void evict(int slot) {
+            double r = returns[slot];
+            if (!Double.isNaN(r)) {
+                if (returnCount <= 1) {
+                    returnCount = 0;
+                    returnMean = 0;
+                    returnM2 = 0;
+                } else {
+                    double mean = (returnCount * returnMean - r) / (returnCount - 1);
+                    returnM2 -= (r - returnMean) * (r - mean);
+                    returnMean = mean;
+                    returnCount--;
+                }
+                returns[slot] = Double.NaN;
+            }
+
+            double v = volumes[slot];
+            if (!Double.isNaN(v)) {
+                volumeSum -= v;
+                volumeDays--;
+                if (volumeDays == 0) volumeSum = 0;
+                volumes[slot] = Double.NaN;
+            }
+        }
+
+        private void put(int slot, double r, double volume) {
+            if (!Double.isNaN(r)) {
+                returnCount++;
+                double delta = r - returnMean;
+                returnMean += delta / returnCount;
+                returnM2 += delta * (r - returnMean);
+                returns[slot] = r;
+            }
+            volumes[slot] = volume;
+            volumeSum += volume;
+            volumeDays++;
+        }
+    }
+}
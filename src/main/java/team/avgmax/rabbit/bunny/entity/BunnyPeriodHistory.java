@@ -0,0 +1,101 @@
+package team.avgmax.rabbit.bunny.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import team.avgmax.rabbit.bunny.entity.enums.HistoryPeriod;
+import team.avgmax.rabbit.bunny.entity.id.BunnyPeriodHistoryId;
+import team.avgmax.rabbit.global.entity.BaseTime;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// 주봉/월봉. 일일 종가 확정 시 BunnyHistory 1일치를 누적(롤업)해 둔다
+@Entity
+@Getter
+@SuperBuilder
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@IdClass(BunnyPeriodHistoryId.class)
+public class BunnyPeriodHistory extends BaseTime {
+
+    @Id
+    @Column(name = "bunny_id", length = 26, nullable = false)
+    private String bunnyId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "period", length = 10, nullable = false)
+    private HistoryPeriod period;
+
+    @Id
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+
+    private LocalDate date;            // 마지막으로 누적된 날짜 (차트 대표 날짜)
+
+    private BigDecimal closingPrice;   // 마지막 날짜의 종가
+
+    private BigDecimal highPrice;
+
+    private BigDecimal lowPrice;
+
+    private BigDecimal buyQuantity;
+
+    private BigDecimal sellQuantity;
+
+    private BigDecimal tradeQuantity;
+
+    /**
+     * prev(같은 버니의 직전 롤업, 없으면 null)에 하루치 히스토리를 누적한 새 롤업을 만든다.
+     * 이미 누적한 날짜 이하면 null (재실행 시 중복 합산 방지)
+     */
+    public static BunnyPeriodHistory rollup(HistoryPeriod period, BunnyPeriodHistory prev, BunnyHistory day) {
+        LocalDate start = period.start(day.getDate());
+        if (prev == null || !prev.getPeriodStart().equals(start)) {
+            return BunnyPeriodHistory.builder()
+                    .bunnyId(day.getBunnyId())
+                    .period(period)
+                    .periodStart(start)
+                    .date(day.getDate())
+                    .closingPrice(day.getClosingPrice())
+                    .highPrice(day.getHighPrice())
+                    .lowPrice(day.getLowPrice())
+                    .buyQuantity(orZero(day.getBuyQuantity()))
+                    .sellQuantity(orZero(day.getSellQuantity()))
+                    .tradeQuantity(orZero(day.getTradeQuantity()))
+                    .build();
+        }
+        if (!day.getDate().isAfter(prev.getDate())) return null;
+
+        return BunnyPeriodHistory.builder()
+                .bunnyId(prev.getBunnyId())
+                .period(period)
+                .periodStart(start)
+                .date(day.getDate())
+                .closingPrice(day.getClosingPrice())
+                .highPrice(max(prev.getHighPrice(), day.getHighPrice()))
+                .lowPrice(min(prev.getLowPrice(), day.getLowPrice()))
+                .buyQuantity(orZero(prev.getBuyQuantity()).add(orZero(day.getBuyQuantity())))
+                .sellQuantity(orZero(prev.getSellQuantity()).add(orZero(day.getSellQuantity())))
+                .tradeQuantity(orZero(prev.getTradeQuantity()).add(orZero(day.getTradeQuantity())))
+                .build();
+    }
+
+    private static BigDecimal orZero(BigDecimal value) {
+        return (value != null) ? value : BigDecimal.ZERO;
+    }
+
+    // 체결 없는 날은 고가/저가가 null 이므로 null 은 무시
+    private static BigDecimal max(BigDecimal a, BigDecimal b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        return a.max(b);
+    }
+
+    private static BigDecimal min(BigDecimal a, BigDecimal b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        return a.min(b);
+    }
+}
@@ -0,0 +1,33 @@
+package team.avgmax.rabbit.bunny.entity.enums;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+
+// 봉(캔들) 단위. 버킷 시작 시각은 서버 시간대와 무관하게 KST 기준으로 자른다.
+public enum BarInterval {
+    MINUTE(ChronoUnit.MINUTES),
+    HOUR(ChronoUnit.HOURS),
+    DAY(ChronoUnit.DAYS);
+
+    public static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+
+    private final ChronoUnit unit;
+
+    BarInterval(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    // 봉 / 일일 마감이 쓰는 현재 시각 (KST)
+    public static LocalDateTime now() {
+        return LocalDateTime.now(ZONE);
+    }
+
+    public LocalDateTime bucketStart(LocalDateTime time) {
+        return time.truncatedTo(unit);
+    }
+
+    public LocalDateTime bucketEnd(LocalDateTime bucketStart) {
+        return bucketStart.plus(1, unit);
+    }
+}
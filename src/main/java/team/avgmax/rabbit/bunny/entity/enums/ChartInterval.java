@@ -1,7 +1,16 @@
 package team.avgmax.rabbit.bunny.entity.enums;
 
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
 public enum ChartInterval {
-    DAILY,
-    WEEKLY,
-    MONTHLY
+    MINUTE(60),   // 분봉 (BunnyBar)
+    HOURLY(24),   // 시간봉 (BunnyBar)
+    DAILY(7),     // 일봉 (BunnyHistory)
+    WEEKLY(7),    // 주봉 (BunnyPeriodHistory)
+    MONTHLY(7);   // 월봉 (BunnyPeriodHistory)
+
+    private final int points; // 최신순으로 조회할 봉 개수
 }
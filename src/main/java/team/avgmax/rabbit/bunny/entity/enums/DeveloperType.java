@@ -1,10 +1,29 @@
 package team.avgmax.rabbit.bunny.entity.enums;
 
+import java.util.stream.IntStream;
+
 public enum DeveloperType {
     BASIC, // 기본형
     GROWTH,
     STABLE,
     VALUE,
     POPULAR,
-    BALANCE
+    BALANCE;
+
+    // 가장 높은 지표의 유형 (동점이면 GROWTH → STABLE → VALUE → POPULAR → BALANCE 순)
+    public static DeveloperType resolve(int growth, int stability, int value, int popularity, int balance) {
+        int maxScore = IntStream.of(growth, stability, value, popularity, balance).max().orElseThrow();
+        if (maxScore == growth) {
+            return GROWTH;
+        } else if (maxScore == stability) {
+            return STABLE;
+        } else if (maxScore == value) {
+            return VALUE;
+        } else if (maxScore == popularity) {
+            return POPULAR;
+        } else if (maxScore == balance) {
+            return BALANCE;
+        }
+        return BASIC; // 기본값
+    }
 }
@@ -0,0 +1,17 @@
+package team.avgmax.rabbit.bunny.entity.enums;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+// 주봉/월봉 롤업 단위 (주는 ISO 기준 월요일 시작)
+public enum HistoryPeriod {
+    WEEK,
+    MONTH;
+
+    public LocalDate start(LocalDate date) {
+        return switch (this) {
+            case WEEK -> date.with(DayOfWeek.MONDAY);
+            case MONTH -> date.withDayOfMonth(1);
+        };
+    }
+}
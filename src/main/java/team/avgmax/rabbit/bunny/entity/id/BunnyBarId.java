@@ -0,0 +1,19 @@
+package team.avgmax.rabbit.bunny.entity.id;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import team.avgmax.rabbit.bunny.entity.enums.BarInterval;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+@AllArgsConstructor(access = AccessLevel.PROTECTED)
+public class BunnyBarId implements Serializable {
+    private String bunnyId;
+    private BarInterval barInterval;
+    private LocalDateTime openTime;
+}
@@ -0,0 +1,19 @@
+package team.avgmax.rabbit.bunny.entity.id;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import team.avgmax.rabbit.bunny.entity.enums.HistoryPeriod;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+@AllArgsConstructor(access = AccessLevel.PROTECTED)
+public class BunnyPeriodHistoryId implements Serializable {
+    private String bunnyId;
+    private HistoryPeriod period;
+    private LocalDate periodStart;
+}
@@ -17,8 +17,14 @@ public enum BunnyError implements ErrorCode {
     INVALID_PRICE(HttpStatus.BAD_REQUEST, "유효하지 않은 금액입니다."),
     INVALID_QUANTITY(HttpStatus.BAD_REQUEST, "유효하지 않은 수량입니다."),
     INVALID_QUANTITY_DELTA(HttpStatus.BAD_REQUEST, "수량 변경값은 0보다 커야 합니다."),
+    AMOUNT_OUT_OF_RANGE(HttpStatus.BAD_REQUEST, "주문 수량 또는 금액이 허용 범위를 초과했습니다."),
     ORDER_QUANTITY_NEGATIVE(HttpStatus.INTERNAL_SERVER_ERROR, "주문 수량이 음수가 될 수 없습니다."),
     ORDER_ALREADY_FILLED(HttpStatus.CONFLICT, "이미 체결이 완료된 주문은 취소할 수 없습니다."),
+    ORDER_BOOK_OUT_OF_SYNC(HttpStatus.INTERNAL_SERVER_ERROR, "호가창과 주문 정보가 일치하지 않습니다."),
+    ORDER_QUEUE_FULL(HttpStatus.SERVICE_UNAVAILABLE, "주문이 몰려 처리할 수 없습니다. 잠시 후 다시 시도해주세요."),
+    ORDER_MATCHER_UNAVAILABLE(HttpStatus.SERVICE_UNAVAILABLE, "현재 주문을 처리할 수 있는 서버가 아닙니다. 잠시 후 다시 시도해주세요."),
+    ORDER_FORWARD_TIMEOUT(HttpStatus.GATEWAY_TIMEOUT, "주문 처리 결과를 확인하지 못했습니다. 주문 내역을 확인해주세요."),
+    ORDER_FORWARD_FAILED(HttpStatus.INTERNAL_SERVER_ERROR, "주문 처리 중 오류가 발생했습니다."),
     NEGATIVE_HOLDING(HttpStatus.CONFLICT, "보유 수량이 마이너스 입니다."),
     ALREADY_LIKED(HttpStatus.CONFLICT, "이미 좋아요를 추가한 버니입니다."),
     ALREADY_UNLIKED(HttpStatus.CONFLICT, "이미 좋아요를 취소한 버니입니다."),
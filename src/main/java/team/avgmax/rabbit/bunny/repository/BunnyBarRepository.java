@@ -0,0 +1,16 @@
+package team.avgmax.rabbit.bunny.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import team.avgmax.rabbit.bunny.entity.BunnyBar;
+import team.avgmax.rabbit.bunny.entity.enums.BarInterval;
+import team.avgmax.rabbit.bunny.entity.id.BunnyBarId;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface BunnyBarRepository extends JpaRepository<BunnyBar, BunnyBarId> {
+
+    List<BunnyBar> findAllByBarIntervalAndOpenTime(BarInterval barInterval, LocalDateTime openTime); // 특정 버킷의 전체 버니 봉
+    List<BunnyBar> findAllByBunnyIdAndBarIntervalOrderByOpenTimeDesc(String bunnyId, BarInterval barInterval, Pageable pageable); // 차트용 최신 봉 (PK 범위 조회)
+}
@@ -1,18 +1,27 @@
 package team.avgmax.rabbit.bunny.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import team.avgmax.rabbit.bunny.entity.BunnyHistory;
 import team.avgmax.rabbit.bunny.entity.id.BunnyHistoryId;
 import team.avgmax.rabbit.bunny.repository.custom.BunnyHistoryRepositoryCustom;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface BunnyHistoryRepository extends JpaRepository<BunnyHistory, BunnyHistoryId>, BunnyHistoryRepositoryCustom {
 
     List<BunnyHistory> findAllByBunnyIdOrderByDateAsc(String bunnyId);
 
+    List<BunnyHistory> findAllByBunnyIdInOrderByBunnyIdAscDateAsc(Collection<String> bunnyIds);
+
+    // bunnyId keyset 페이지 (after 다음 id 부터)
+    @Query("SELECT DISTINCT bh.bunnyId FROM BunnyHistory bh WHERE bh.bunnyId > :after ORDER BY bh.bunnyId")
+    List<String> findBunnyIdsAfter(@Param("after") String after, Pageable pageable);
+
     @Query("""
         SELECT bh
         FROM BunnyHistory bh
@@ -0,0 +1,7 @@
+package team.avgmax.rabbit.bunny.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import team.avgmax.rabbit.bunny.entity.BunnyIndicatorState;
+
+public interface BunnyIndicatorStateRepository extends JpaRepository<BunnyIndicatorState, String> {
+}
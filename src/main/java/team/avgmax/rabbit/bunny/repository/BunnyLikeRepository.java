@@ -1,14 +1,17 @@
 package team.avgmax.rabbit.bunny.repository;
 
-import java.util.List;
-
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import team.avgmax.rabbit.bunny.entity.BunnyLike;
 import team.avgmax.rabbit.bunny.entity.id.BunnyLikeId;
 
+import java.util.List;
+
 public interface BunnyLikeRepository extends JpaRepository<BunnyLike, BunnyLikeId> {
     boolean existsByBunnyIdAndUserId(String bunnyId, String userId);
-    void deleteByBunnyIdAndUserId(String bunnyId, String userId);
-    List<BunnyLike> findByBunnyId(String bunnyId);
+
+    @Query("select l.userId from BunnyLike l where l.bunnyId = :bunnyId")
+    List<String> findUserIdsByBunnyId(@Param("bunnyId") String bunnyId);
 }
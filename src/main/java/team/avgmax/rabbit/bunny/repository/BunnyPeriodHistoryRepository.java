@@ -0,0 +1,15 @@
+package team.avgmax.rabbit.bunny.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import team.avgmax.rabbit.bunny.entity.BunnyPeriodHistory;
+import team.avgmax.rabbit.bunny.entity.enums.HistoryPeriod;
+import team.avgmax.rabbit.bunny.entity.id.BunnyPeriodHistoryId;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface BunnyPeriodHistoryRepository extends JpaRepository<BunnyPeriodHistory, BunnyPeriodHistoryId> {
+
+    List<BunnyPeriodHistory> findAllByPeriodAndPeriodStartAndBunnyIdIn(HistoryPeriod period, LocalDate periodStart, Collection<String> bunnyIds); // 롤업 대상 기존 행
+}
@@ -0,0 +1,44 @@
+package team.avgmax.rabbit.bunny.repository.custom;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import team.avgmax.rabbit.bunny.entity.BunnyBar;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 봉을 JDBC batch 로 upsert 한다.
+ * 같은 버킷을 다시 기록하면(재시작 전 부분 봉 등) 마지막 값으로 덮어쓴다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class BunnyBarBatchRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void upsert(List<BunnyBar> bars) {
+        if (bars.isEmpty()) return;
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> args = new ArrayList<>(bars.size());
+        for (BunnyBar bar : bars) {
+            args.add(new Object[]{
+                    bar.getBunnyId(), bar.getBarInterval().name(), Timestamp.valueOf(bar.getOpenTime()),
+                    bar.getOpenPrice(), bar.getHighPrice(), bar.getLowPrice(), bar.getClosePrice(),
+                    bar.getVolume(), bar.getTradeCount(), now, now
+            });
+        }
+        jdbcTemplate.batchUpdate(
+                "insert into bunny_bar (bunny_id, bar_interval, open_time, open_price, high_price, low_price, close_price, " +
+                "volume, trade_count, created_at, updated_at) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+                "on duplicate key update open_price = values(open_price), high_price = values(high_price), " +
+                "low_price = values(low_price), close_price = values(close_price), volume = values(volume), " +
+                "trade_count = values(trade_count), updated_at = values(updated_at)",
+                args
+        );
+    }
+}
@@ -0,0 +1,77 @@
+package team.avgmax.rabbit.bunny.repository.custom;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import team.avgmax.rabbit.bunny.entity.BunnyLike;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 좋아요 동기화용 일괄 조회/기록.
+ * 변경된 버니 묶음의 좋아요를 한 번에 읽고, 추가/삭제/좋아요 수는 JDBC batch 로 기록한다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class BunnyLikeBatchRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // 버니 → 좋아요한 사용자 id (좋아요가 없는 버니는 빠짐)
+    public Map<String, Set<String>> findUserIdsByBunnyIds(Collection<String> bunnyIds) {
+        if (bunnyIds.isEmpty()) return Collections.emptyMap();
+
+        Map<String, Set<String>> likes = new HashMap<>(bunnyIds.size() * 2);
+        jdbcTemplate.query(
+                "select bunny_id, user_id from bunny_like where bunny_id in (" +
+                        String.join(",", Collections.nCopies(bunnyIds.size(), "?")) + ")",
+                rs -> {
+                    likes.computeIfAbsent(rs.getString(1), k -> new HashSet<>()).add(rs.getString(2));
+                },
+                bunnyIds.toArray());
+        return likes;
+    }
+
+    public void insertAll(List<BunnyLike> likes) {
+        if (likes.isEmpty()) return;
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> args = new ArrayList<>(likes.size());
+        for (BunnyLike like : likes) {
+            args.add(new Object[]{like.getBunnyId(), like.getUserId(), now, now});
+        }
+        // 다른 노드가 먼저 기록한 경우는 무시
+        jdbcTemplate.batchUpdate(
+                "insert ignore into bunny_like (bunny_id, user_id, created_at, updated_at) values (?, ?, ?, ?)",
+                args);
+    }
+
+    public void deleteAll(List<BunnyLike> likes) {
+        if (likes.isEmpty()) return;
+
+        List<Object[]> args = new ArrayList<>(likes.size());
+        for (BunnyLike like : likes) {
+            args.add(new Object[]{like.getBunnyId(), like.getUserId()});
+        }
+        jdbcTemplate.batchUpdate("delete from bunny_like where bunny_id = ? and user_id = ?", args);
+    }
+
+    // 좋아요 수를 증감이 아닌 최종 값으로 기록
+    public void updateLikeCounts(Map<String, Long> likeCounts) {
+        if (likeCounts.isEmpty()) return;
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> args = new ArrayList<>(likeCounts.size());
+        likeCounts.forEach((bunnyId, count) -> args.add(new Object[]{count, now, bunnyId}));
+        jdbcTemplate.batchUpdate("update bunny set like_count = ?, updated_at = ? where bunny_id = ?", args);
+    }
+}
@@ -1,11 +1,13 @@
 package team.avgmax.rabbit.bunny.repository.custom;
 
+import com.querydsl.core.Tuple;
 import team.avgmax.rabbit.bunny.entity.Bunny;
 import team.avgmax.rabbit.bunny.entity.enums.BunnyType;
 import team.avgmax.rabbit.bunny.entity.enums.DeveloperType;
 import team.avgmax.rabbit.user.entity.enums.Position;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 
 public interface BunnyRepositoryCustom {
@@ -19,9 +21,10 @@ public interface BunnyRepositoryCustom {
 
     BigDecimal findAverageGrowthRateByDeveloperType(DeveloperType developerType);
 
-    List<Bunny> findAllWithUserOrderByMarketCapDesc();
+    List<Bunny> findAllWithUserByIdIn(Collection<String> bunnyIds);
 
-    BigDecimal sumCurrentMarketCap();
+    // 시가총액 순위 재구성용 (bunnyId, marketCap)
+    List<Tuple> findAllIdAndMarketCap();
 
     List<Bunny> findTop10ByOrderBySpecUpdatedAtDesc();
 
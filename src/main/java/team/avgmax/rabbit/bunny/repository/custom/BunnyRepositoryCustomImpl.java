@@ -1,5 +1,6 @@
 package team.avgmax.rabbit.bunny.repository.custom;
 
+import com.querydsl.core.Tuple;
 import com.querydsl.core.types.dsl.CaseBuilder;
 import com.querydsl.core.types.dsl.NumberExpression;
 import com.querydsl.jpa.impl.JPAQueryFactory;
@@ -11,6 +12,7 @@ import team.avgmax.rabbit.user.entity.enums.Position;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.Collection;
 import java.util.List;
 
 import static team.avgmax.rabbit.bunny.entity.QBadge.badge;
@@ -56,23 +58,21 @@ public class BunnyRepositoryCustomImpl implements BunnyRepositoryCustom{
     }
 
     @Override
-    public List<Bunny> findAllWithUserOrderByMarketCapDesc() {
+    public List<Bunny> findAllWithUserByIdIn(Collection<String> bunnyIds) {
+        if (bunnyIds.isEmpty()) return List.of();
         return queryFactory
                 .selectFrom(bunny)
                 .join(bunny.user, personalUser).fetchJoin()
-                .orderBy(bunny.marketCap.desc())
+                .where(bunny.id.in(bunnyIds))
                 .fetch();
     }
 
     @Override
-    public BigDecimal sumCurrentMarketCap() {
-        BigDecimal sum = queryFactory
-                .select(bunny.marketCap.sum())
+    public List<Tuple> findAllIdAndMarketCap() {
+        return queryFactory
+                .select(bunny.id, bunny.marketCap)
                 .from(bunny)
-                .where(bunny.marketCap.isNotNull())
-                .fetchOne();
-        
-        return sum != null ? sum : BigDecimal.ZERO;
+                .fetch();
     }
 
     private BigDecimal calculateAverageGrowthRate(com.querydsl.core.types.dsl.BooleanExpression condition) {
@@ -0,0 +1,174 @@
+package team.avgmax.rabbit.bunny.repository.custom;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Projections;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import team.avgmax.rabbit.bunny.entity.BunnyBar;
+import team.avgmax.rabbit.bunny.entity.BunnyHistory;
+import team.avgmax.rabbit.bunny.entity.BunnyPeriodHistory;
+import team.avgmax.rabbit.bunny.entity.QBunny;
+import team.avgmax.rabbit.bunny.entity.QOrder;
+import team.avgmax.rabbit.bunny.entity.enums.BarInterval;
+import team.avgmax.rabbit.bunny.entity.enums.BunnyType;
+import team.avgmax.rabbit.bunny.entity.enums.OrderType;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 자정 종가 확정용 일괄 조회/기록.
+ * 조회는 버니 전체를 한 번에(엔티티 로딩 없이 필요한 컬럼만), 기록은 JDBC batch 로 한다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DailyCloseRepository {
+
+    private final JPAQueryFactory queryFactory;
+    private final JdbcTemplate jdbcTemplate;
+
+    public record Target(
+            String bunnyId,
+            String bunnyName,
+            BigDecimal currentPrice,
+            BigDecimal closingPrice,
+            BunnyType bunnyType
+    ) {}
+
+    public record OpenQuantity(BigDecimal buy, BigDecimal sell) {
+        public static final OpenQuantity ZERO = new OpenQuantity(BigDecimal.ZERO, BigDecimal.ZERO);
+    }
+
+    public List<Target> findTargets() {
+        QBunny bunny = QBunny.bunny;
+        return queryFactory
+                .select(Projections.constructor(
+                        Target.class,
+                        bunny.id,
+                        bunny.bunnyName,
+                        bunny.currentPrice,
+                        bunny.closingPrice,
+                        bunny.bunnyType
+                ))
+                .from(bunny)
+                .fetch();
+    }
+
+    // 버니별 BUY/SELL 오픈 잔량 합계 (1회 group by)
+    public Map<String, OpenQuantity> sumOpenQuantityByBunny() {
+        QOrder order = QOrder.order;
+        List<Tuple> rows = queryFactory
+                .select(order.bunny.id, order.orderType, order.quantity.sum())
+                .from(order)
+                .where(order.quantity.gt(BigDecimal.ZERO))
+                .groupBy(order.bunny.id, order.orderType)
+                .fetch();
+
+        Map<String, OpenQuantity> result = new HashMap<>();
+        for (Tuple row : rows) {
+            String bunnyId = row.get(order.bunny.id);
+            BigDecimal sum = row.get(order.quantity.sum());
+            if (sum == null) sum = BigDecimal.ZERO;
+
+            OpenQuantity cur = result.getOrDefault(bunnyId, OpenQuantity.ZERO);
+            result.put(bunnyId, (row.get(order.orderType) == OrderType.BUY)
+                    ? new OpenQuantity(sum, cur.sell())
+                    : new OpenQuantity(cur.buy(), sum));
+        }
+        return result;
+    }
+
+    // 하루치 체결을 버니별 일봉으로 집계 (메모리 일봉을 믿을 수 없을 때만 사용: 재기동/매칭 담당 변경)
+    // 시가/종가는 match_id(시간순 ULID) 기준 첫/마지막 체결가
+    public List<BunnyBar> aggregateDayBars(LocalDateTime dayStart) {
+        // match.created_at 은 서버 시간대로 기록되므로 KST 하루 구간을 서버 시간대로 바꿔 조회
+        LocalDateTime from = dayStart.atZone(BarInterval.ZONE).withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+        LocalDateTime to = dayStart.plusDays(1).atZone(BarInterval.ZONE).withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+        return jdbcTemplate.query(
+                "select bunny_id, open_price, close_price, max(unit_price), min(unit_price), sum(quantity), count(*) " +
+                "from (select bunny_id, unit_price, quantity, " +
+                "first_value(unit_price) over (partition by bunny_id order by match_id) as open_price, " +
+                "first_value(unit_price) over (partition by bunny_id order by match_id desc) as close_price " +
+                "from `match` where created_at >= ? and created_at < ?) t " +
+                "group by bunny_id, open_price, close_price",
+                (rs, rowNum) -> BunnyBar.builder()
+                        .bunnyId(rs.getString(1))
+                        .barInterval(BarInterval.DAY)
+                        .openTime(dayStart)
+                        .openPrice(rs.getBigDecimal(2))
+                        .closePrice(rs.getBigDecimal(3))
+                        .highPrice(rs.getBigDecimal(4))
+                        .lowPrice(rs.getBigDecimal(5))
+                        .volume(rs.getBigDecimal(6))
+                        .tradeCount(rs.getLong(7))
+                        .build(),
+                Timestamp.valueOf(from), Timestamp.valueOf(to));
+    }
+
+    // (date, bunny_id) 기준 upsert → 재실행해도 멱등
+    public void upsertHistories(List<BunnyHistory> histories) {
+        if (histories.isEmpty()) return;
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> args = new ArrayList<>(histories.size());
+        for (BunnyHistory h : histories) {
+            args.add(new Object[]{
+                    Date.valueOf(h.getDate()), h.getBunnyId(), h.getClosingPrice(), h.getHighPrice(), h.getLowPrice(),
+                    h.getBuyQuantity(), h.getSellQuantity(), h.getTradeQuantity(), h.getMarketCap(), now, now
+            });
+        }
+        jdbcTemplate.batchUpdate(
+                "insert into bunny_history (date, bunny_id, closing_price, high_price, low_price, " +
+                "buy_quantity, sell_quantity, trade_quantity, market_cap, created_at, updated_at) " +
+                "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+                "on duplicate key update closing_price = values(closing_price), high_price = values(high_price), " +
+                "low_price = values(low_price), buy_quantity = values(buy_quantity), sell_quantity = values(sell_quantity), " +
+                "trade_quantity = values(trade_quantity), market_cap = values(market_cap), updated_at = values(updated_at)",
+                args
+        );
+    }
+
+    public void updateClosingPrices(List<BunnyHistory> histories) {
+        if (histories.isEmpty()) return;
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> args = new ArrayList<>(histories.size());
+        for (BunnyHistory h : histories) {
+            args.add(new Object[]{h.getClosingPrice(), now, h.getBunnyId()});
+        }
+        jdbcTemplate.batchUpdate("update bunny set closing_price = ?, updated_at = ? where bunny_id = ?", args);
+    }
+
+    // (bunny_id, period, period_start) 기준 upsert. 누적 계산은 BunnyPeriodHistory.rollup 에서 끝낸 값
+    public void upsertPeriodHistories(List<BunnyPeriodHistory> rollups) {
+        if (rollups.isEmpty()) return;
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> args = new ArrayList<>(rollups.size());
+        for (BunnyPeriodHistory r : rollups) {
+            args.add(new Object[]{
+                    r.getBunnyId(), r.getPeriod().name(), Date.valueOf(r.getPeriodStart()), Date.valueOf(r.getDate()),
+                    r.getClosingPrice(), r.getHighPrice(), r.getLowPrice(),
+                    r.getBuyQuantity(), r.getSellQuantity(), r.getTradeQuantity(), now, now
+            });
+        }
+        jdbcTemplate.batchUpdate(
+                "insert into bunny_period_history (bunny_id, period, period_start, date, closing_price, high_price, low_price, " +
+                "buy_quantity, sell_quantity, trade_quantity, created_at, updated_at) " +
+                "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+                "on duplicate key update date = values(date), closing_price = values(closing_price), " +
+                "high_price = values(high_price), low_price = values(low_price), buy_quantity = values(buy_quantity), " +
+                "sell_quantity = values(sell_quantity), trade_quantity = values(trade_quantity), updated_at = values(updated_at)",
+                args
+        );
+    }
+}
@@ -0,0 +1,115 @@
+package team.avgmax.rabbit.bunny.repository.custom;
+
+import com.querydsl.core.types.Projections;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import team.avgmax.rabbit.bunny.entity.BunnyIndicatorState;
+import team.avgmax.rabbit.bunny.entity.QBunny;
+import team.avgmax.rabbit.bunny.entity.enums.BunnyType;
+import team.avgmax.rabbit.bunny.entity.enums.DeveloperType;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 히스토리 기반 지표 일괄 계산용 조회/기록.
+ * 버니 컬럼은 필요한 것만 한 번에 조회하고, 누적 상태(BunnyIndicatorState)와 결과 점수는 JDBC batch 로 기록한다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class IndicatorBatchRepository {
+
+    private final JPAQueryFactory queryFactory;
+    private final JdbcTemplate jdbcTemplate;
+
+    public record Input(
+            String bunnyId,
+            BunnyType bunnyType,
+            BigDecimal marketCap,
+            int reliability,
+            long likeCount,
+            LocalDateTime createdAt
+    ) {}
+
+    public record Scores(
+            String bunnyId,
+            int growth,
+            int stability,
+            int popularity,
+            int value,
+            int balance,
+            DeveloperType developerType
+    ) {}
+
+    public List<Input> findInputs(Collection<String> bunnyIds) {
+        QBunny bunny = QBunny.bunny;
+        return queryFactory
+                .select(Projections.constructor(
+                        Input.class,
+                        bunny.id,
+                        bunny.bunnyType,
+                        bunny.marketCap,
+                        bunny.reliability,
+                        bunny.likeCount,
+                        bunny.createdAt
+                ))
+                .from(bunny)
+                .where(bunny.id.in(bunnyIds))
+                .fetch();
+    }
+
+    // 버니당 1행 upsert. 누적 계산은 BunnyIndicatorState.advance 에서 끝낸 값
+    public void upsertStates(List<BunnyIndicatorState> states) {
+        if (states.isEmpty()) return;
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> args = new ArrayList<>(states.size());
+        for (BunnyIndicatorState st : states) {
+            args.add(new Object[]{
+                    st.getBunnyId(), toDate(st.getFirstDate()), st.getFirstClose(), toDate(st.getLastDate()), st.getLastClose(),
+                    st.getReturnCount(), st.getReturnMean(), st.getReturnM2(), st.getReturns(),
+                    st.getVolumeDays(), st.getVolumeSum(), st.getVolumes(), now, now
+            });
+        }
+        jdbcTemplate.batchUpdate(
+                "insert into bunny_indicator_state (bunny_id, first_date, first_close, last_date, last_close, " +
+                "return_count, return_mean, return_m2, return_ring, volume_days, volume_sum, volume_ring, created_at, updated_at) " +
+                "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+                "on duplicate key update first_date = values(first_date), first_close = values(first_close), " +
+                "last_date = values(last_date), last_close = values(last_close), return_count = values(return_count), " +
+                "return_mean = values(return_mean), return_m2 = values(return_m2), return_ring = values(return_ring), " +
+                "volume_days = values(volume_days), volume_sum = values(volume_sum), volume_ring = values(volume_ring), " +
+                "updated_at = values(updated_at)",
+                args
+        );
+    }
+
+    public void updateScores(List<Scores> scores) {
+        if (scores.isEmpty()) return;
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> args = new ArrayList<>(scores.size());
+        for (Scores s : scores) {
+            args.add(new Object[]{
+                    s.growth(), s.stability(), s.popularity(), s.value(), s.balance(),
+                    s.developerType().name(), now, s.bunnyId()
+            });
+        }
+        jdbcTemplate.batchUpdate(
+                "update bunny set growth = ?, stability = ?, popularity = ?, `value` = ?, balance = ?, " +
+                "developer_type = ?, updated_at = ? where bunny_id = ?",
+                args);
+    }
+
+    private static Date toDate(LocalDate date) {
+        return (date != null) ? Date.valueOf(date) : null;
+    }
+}
@@ -2,10 +2,7 @@ package team.avgmax.rabbit.bunny.repository.custom;
 
 import java.math.BigDecimal;
 import java.util.List;
-import java.util.Set;
 
-import com.querydsl.jpa.impl.JPAQuery;
-import jakarta.persistence.LockModeType;
 import org.springframework.stereotype.Repository;
 
 import com.querydsl.jpa.impl.JPAQueryFactory;
@@ -14,9 +11,6 @@ import lombok.RequiredArgsConstructor;
 
 import team.avgmax.rabbit.bunny.entity.Order;
 import team.avgmax.rabbit.bunny.entity.QOrder;
-import team.avgmax.rabbit.bunny.entity.enums.OrderType;
-
-import static team.avgmax.rabbit.user.entity.QPersonalUser.personalUser;
 
 @Repository
 @RequiredArgsConstructor
@@ -25,7 +19,7 @@ public class OrderRepositoryCustomImpl implements OrderRepositoryCustom {
     private final JPAQueryFactory queryFactory;
 
     @Override
-    public Order findByIdAndBunnyIdForUpdate(String orderId, String bunnyId) {
+    public Order findByIdAndBunnyId(String orderId, String bunnyId) {
         QOrder order = QOrder.order;
 
         return queryFactory
@@ -34,80 +28,29 @@ public class OrderRepositoryCustomImpl implements OrderRepositoryCustom {
                         order.id.eq(orderId),
                         order.bunny.id.eq(bunnyId)
                 )
-                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
                 .fetchFirst();
     }
 
     @Override
-    public List<Order> findAllByBunnyAndSideForOrderBook(String bunnyId, OrderType side) {
-        QOrder order = QOrder.order;
-        int maxRows = 50;
-
-        JPAQuery<Order> query = queryFactory
-                .selectFrom(order)
-                .where(
-                        order.bunny.id.eq(bunnyId),
-                        order.orderType.eq(side),
-                        order.quantity.gt(BigDecimal.ZERO)
-                );
-
-        if (side == OrderType.BUY) {
-            query.orderBy(order.unitPrice.desc(), order.createdAt.asc(), order.id.asc());
-        } else {
-            query.orderBy(order.unitPrice.asc(), order.createdAt.asc(), order.id.asc());
-        }
-
-        return query.limit(maxRows).fetch();
-    }
-
-    @Override
-    public List<Order> findAllByBunnySideAndPriceIn(String bunnyId, OrderType side, Set<BigDecimal> prices) {
-        QOrder order = QOrder.order;
-
-        return queryFactory
-                .selectFrom(order)
-                .where(
-                        order.bunny.id.eq(bunnyId),
-                        order.orderType.eq(side),
-                        order.unitPrice.in(prices),
-                        order.quantity.gt(BigDecimal.ZERO)
-                )
-                .fetch();
-    }
-
-    @Override
-    public List<Order> lockedSellCandidatesByPriceAsc(String bunnyId, BigDecimal buyPrice, String excludeUserId) {
+    public List<Order> findAllOpenOrdersOrderByCreatedAtAsc() {
         QOrder order = QOrder.order;
         return queryFactory
                 .selectFrom(order)
-                .join(order.user, personalUser).fetchJoin()
-                .where(
-                        order.bunny.id.eq(bunnyId),
-                        order.orderType.eq(OrderType.SELL),
-                        order.unitPrice.loe(buyPrice),
-                        order.user.id.ne(excludeUserId),
-                        order.quantity.gt(BigDecimal.ZERO)
-                )
-                .orderBy(order.unitPrice.asc(), order.createdAt.asc())
-                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .where(order.quantity.gt(BigDecimal.ZERO))
+                .orderBy(order.createdAt.asc(), order.id.asc())
                 .fetch();
     }
 
     @Override
-    public List<Order> lockedBuyCandidatesByPriceDesc(String bunnyId, BigDecimal sellPrice, String excludeUserId) {
+    public List<Order> findAllOpenOrdersByBunnyIdOrderByCreatedAtAsc(String bunnyId) {
         QOrder order = QOrder.order;
         return queryFactory
                 .selectFrom(order)
-                .join(order.user, personalUser).fetchJoin()
                 .where(
                         order.bunny.id.eq(bunnyId),
-                        order.orderType.eq(OrderType.BUY),
-                        order.unitPrice.goe(sellPrice),
-                        order.user.id.ne(excludeUserId),
                         order.quantity.gt(BigDecimal.ZERO)
                 )
-                .orderBy(order.unitPrice.desc(), order.createdAt.asc())
-                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .orderBy(order.createdAt.asc(), order.id.asc())
                 .fetch();
     }
 }
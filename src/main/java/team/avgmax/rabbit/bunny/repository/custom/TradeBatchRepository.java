@@ -0,0 +1,127 @@
+package team.avgmax.rabbit.bunny.repository.custom;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import team.avgmax.rabbit.bunny.service.match.TradeBatch;
+import team.avgmax.rabbit.bunny.service.match.TradeBatch.HoldDelta;
+import team.avgmax.rabbit.bunny.service.match.TradeBatch.MatchRow;
+import team.avgmax.rabbit.global.util.UlidGenerator;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 체결 배치를 JDBC batch 로 한 번에 기록한다.
+ * (match insert / 상대 주문 update·delete / hold_bunny update·insert 를 각각 1개 배치로)
+ */
+@Repository
+@RequiredArgsConstructor
+public class TradeBatchRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public void flush(TradeBatch batch) {
+        if (batch.isEmpty()) return;
+
+        // JPA 쓰기 지연분(신규 주문, 캐럿 변경 등)을 먼저 내보낸 뒤 JDBC 로 기록
+        entityManager.flush();
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        insertMatches(batch, now);
+        applyCounterOrders(batch, now);
+        applyHoldDeltas(batch, now);
+    }
+
+    private void insertMatches(TradeBatch batch, Timestamp now) {
+        List<Object[]> args = new ArrayList<>(batch.getMatches().size());
+        for (MatchRow row : batch.getMatches()) {
+            args.add(new Object[]{
+                    row.matchId(), batch.getBunnyId(), row.sellUserId(), row.buyUserId(),
+                    row.quantity(), row.unitPrice(), now, now
+            });
+        }
+        jdbcTemplate.batchUpdate(
+                "insert into `match` (match_id, bunny_id, sell_user_id, buy_user_id, quantity, unit_price, created_at, updated_at) " +
+                "values (?, ?, ?, ?, ?, ?, ?, ?)",
+                args
+        );
+    }
+
+    private void applyCounterOrders(TradeBatch batch, Timestamp now) {
+        List<Object[]> updates = new ArrayList<>();
+        List<Object[]> deletes = new ArrayList<>();
+        for (Map.Entry<String, Long> e : batch.getCounterRemaining().entrySet()) {
+            if (e.getValue() <= 0) {
+                deletes.add(new Object[]{e.getKey()});               // 완전 체결 → 삭제
+            } else {
+                updates.add(new Object[]{e.getValue(), now, e.getKey()}); // 부분 체결 → 잔량 갱신
+            }
+        }
+
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate("update `order` set quantity = ?, updated_at = ? where order_id = ?", updates);
+        }
+        if (!deletes.isEmpty()) {
+            jdbcTemplate.batchUpdate("delete from `order` where order_id = ?", deletes);
+        }
+    }
+
+    private void applyHoldDeltas(TradeBatch batch, Timestamp now) {
+        Map<String, HoldDelta> deltas = batch.getHoldDeltas();
+
+        // 이미 보유 행이 있는 사용자 조회 (1회)
+        Set<String> existing = new HashSet<>(namedParameterJdbcTemplate.queryForList(
+                "select holder_id from hold_bunny where bunny_id = :bunnyId and holder_id in (:userIds)",
+                new MapSqlParameterSource()
+                        .addValue("bunnyId", batch.getBunnyId())
+                        .addValue("userIds", deltas.keySet()),
+                String.class
+        ));
+
+        List<Object[]> updates = new ArrayList<>();
+        List<Object[]> inserts = new ArrayList<>();
+        for (Map.Entry<String, HoldDelta> e : deltas.entrySet()) {
+            HoldDelta delta = e.getValue();
+            if (delta.isZero()) continue;
+
+            if (existing.contains(e.getKey())) {
+                updates.add(new Object[]{delta.getQuantity(), delta.getCostBasis(), now, e.getKey(), batch.getBunnyId()});
+            } else if (delta.getQuantity() > 0) {
+                // 처음 매수한 사용자만 신규 보유 행 생성
+                inserts.add(new Object[]{
+                        UlidGenerator.generateMonotonic(), e.getKey(), batch.getBunnyId(),
+                        delta.getQuantity(), delta.getCostBasis(), now, now
+                });
+            }
+        }
+
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                    "update hold_bunny set hold_quantity = hold_quantity + ?, cost_basis = cost_basis + ?, updated_at = ? " +
+                    "where holder_id = ? and bunny_id = ?",
+                    updates
+            );
+        }
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                    "insert into hold_bunny (hold_bunny_id, holder_id, bunny_id, hold_quantity, cost_basis, created_at, updated_at) " +
+                    "values (?, ?, ?, ?, ?, ?, ?)",
+                    inserts
+            );
+        }
+    }
+}
@@ -2,132 +2,128 @@ package team.avgmax.rabbit.bunny.scheduler;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
-import team.avgmax.rabbit.bunny.entity.Bunny;
+import org.springframework.transaction.support.TransactionTemplate;
 import team.avgmax.rabbit.bunny.entity.BunnyLike;
-import team.avgmax.rabbit.bunny.repository.BunnyLikeRepository;
-import team.avgmax.rabbit.bunny.repository.BunnyRepository;
-import team.avgmax.rabbit.bunny.service.BunnyIndicatorService;
+import team.avgmax.rabbit.bunny.repository.custom.BunnyLikeBatchRepository;
+import team.avgmax.rabbit.bunny.service.IndicatorRecomputeQueue;
 import team.avgmax.rabbit.global.util.RedisUtil;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class BunnyLikeSyncScheduler {
 
+    private final RedisTemplate<String, Object> redisTemplate;
     private final RedisUtil redisUtil;
-    private final BunnyRepository bunnyRepository;
-    private final BunnyLikeRepository bunnyLikeRepository;
-    private final BunnyIndicatorService bunnyIndicatorService;
+    private final BunnyLikeBatchRepository bunnyLikeBatchRepository;
+    private final IndicatorRecomputeQueue indicatorRecomputeQueue;
+    private final TransactionTemplate transactionTemplate;
 
     private static final String LIKE_SET_KEY_PREFIX = "bunny_like:";
-    private static final int CHUNK_SIZE = 50; // 한 번에 처리할 Bunny 수
+    private static final String LIKE_DIRTY_KEY = "bunny_like_dirty"; // 좋아요/취소가 있었던 버니 id
+    private static final String LIKE_EMPTY_KEY_PREFIX = "bunny_like_empty:"; // 마지막 좋아요가 취소되어 Set 이 비었음
+    private static final int CHUNK_SIZE = 500; // 한 번에 처리할 Bunny 수
 
     /**
-     * 30분마다 Redis의 좋아요 데이터를 DB에 동기화
+     * 30분마다 좋아요가 바뀐 버니만 Redis → DB 동기화
+     * dirty set 에서 꺼낸 묶음마다: Redis Set 파이프라인 조회 1회 + DB 조회 1회 → HashSet 비교 → batch 기록
+     * Redis 에 Set 도 비었음 표시도 없는 버니는 Redis 쪽 데이터가 없는 것이므로 DB 를 그대로 둔다
      */
     @Scheduled(fixedRate = 1800000)
     public void syncLikesToDatabase() {
         log.info("좋아요 동기화 스케줄러 시작");
 
-        try {
-            int page = 0;
-            Page<Bunny> bunnyPage;
+        int synced = 0;
+        List<String> bunnyIds;
+        // SPOP 으로 꺼내므로 동기화 중 새로 바뀐 버니는 다음 주기에 다시 처리됨
+        while (!(bunnyIds = popDirty()).isEmpty()) {
+            try {
+                syncChunk(bunnyIds);
+                synced += bunnyIds.size();
+            } catch (Exception e) {
+                log.error("좋아요 동기화 중 오류 발생: bunnies={}", bunnyIds.size(), e);
+                redisTemplate.opsForSet().add(LIKE_DIRTY_KEY, bunnyIds.toArray());
+                break;
+            }
+        }
 
-            // 페이징을 통해 청크 단위로 처리
-            do {
-                Pageable pageable = PageRequest.of(page, CHUNK_SIZE);
-                bunnyPage = bunnyRepository.findAll(pageable);
+        log.info("좋아요 동기화 스케줄러 완료: bunnies={}", synced);
+    }
 
-                for (Bunny bunny : bunnyPage.getContent()) {
-                    syncBunnyLikes(bunny);
-                }
+    private void syncChunk(List<String> bunnyIds) {
+        Map<String, Set<String>> redisLikes = fetchRedisLikes(bunnyIds);
+        if (redisLikes.isEmpty()) return;
+        Map<String, Set<String>> dbLikes = bunnyLikeBatchRepository.findUserIdsByBunnyIds(redisLikes.keySet());
 
-                page++;
-                log.info("좋아요 동기화 진행: {}/{} 페이지 처리 완료", page, bunnyPage.getTotalPages());
-            } while (bunnyPage.hasNext());
+        List<BunnyLike> inserts = new ArrayList<>();
+        List<BunnyLike> deletes = new ArrayList<>();
+        Map<String, Long> likeCounts = new HashMap<>();
 
-            log.info("좋아요 동기화 스케줄러 완료");
-        } catch (Exception e) {
-            log.error("좋아요 동기화 중 오류 발생", e);
-        }
-    }
+        for (Map.Entry<String, Set<String>> entry : redisLikes.entrySet()) {
+            String bunnyId = entry.getKey();
+            Set<String> redisUsers = entry.getValue();
+            Set<String> dbUsers = dbLikes.getOrDefault(bunnyId, Collections.emptySet());
 
-    /**
-     * 개별 Bunny의 좋아요를 동기화 (트랜잭션 분리)
-     */
-    @Transactional
-    public void syncBunnyLikes(Bunny bunny) {
-        try {
-            String bunnyId = bunny.getId();
-            String likeSetKey = LIKE_SET_KEY_PREFIX + bunnyId;
-
-            // Redis Set에서 현재 좋아요한 사용자 목록 조회
-            Set<Object> redisLikedUsers = redisUtil.getSetMembers(likeSetKey);
-            
-            if (redisLikedUsers == null || redisLikedUsers.isEmpty()) {
-                return;
+            // Redis에 있지만 DB에 없는 사용자 → 추가, DB에 있지만 Redis에 없는 사용자 → 삭제 (좋아요 취소)
+            for (String userId : redisUsers) {
+                if (!dbUsers.contains(userId)) inserts.add(BunnyLike.create(bunnyId, userId));
             }
-
-            // DB에서 현재 좋아요한 사용자 목록 조회
-            List<BunnyLike> dbLikedUsers = bunnyLikeRepository.findByBunnyId(bunnyId);
-            Set<String> dbLikedUserIds = dbLikedUsers.stream()
-                    .map(BunnyLike::getUserId)
-                    .collect(Collectors.toSet());
-
-            int likeCountDelta = 0;
-
-            // Redis에 있지만 DB에 없는 사용자 → DB에 추가
-            for (Object userIdObj : redisLikedUsers) {
-                String userId = userIdObj.toString();
-                if (!dbLikedUserIds.contains(userId)) {
-                    bunnyLikeRepository.save(BunnyLike.create(bunnyId, userId));
-                    likeCountDelta++;
-                }
+            for (String userId : dbUsers) {
+                if (!redisUsers.contains(userId)) deletes.add(BunnyLike.create(bunnyId, userId));
             }
+            // 기존 likeCount 에 누적 오차가 있어도 바로잡히도록 최종 값으로 기록
+            likeCounts.put(bunnyId, (long) redisUsers.size());
+        }
 
-            // DB에 있지만 Redis에 없는 사용자 → DB에서 삭제 (좋아요 취소된 경우)
-            for (BunnyLike dbLike : dbLikedUsers) {
-                String userId = dbLike.getUserId();
-                boolean existsInRedis = redisLikedUsers.stream()
-                        .anyMatch(obj -> obj.toString().equals(userId));
-                if (!existsInRedis) {
-                    bunnyLikeRepository.deleteByBunnyIdAndUserId(bunnyId, userId);
-                    likeCountDelta--;
-                }
-            }
+        transactionTemplate.executeWithoutResult(status -> {
+            bunnyLikeBatchRepository.insertAll(inserts);
+            bunnyLikeBatchRepository.deleteAll(deletes);
+            bunnyLikeBatchRepository.updateLikeCounts(likeCounts);
+        });
 
-            // Bunny의 likeCount 업데이트
-            if (likeCountDelta != 0) {
-                if (likeCountDelta > 0) {
-                    for (int i = 0; i < likeCountDelta; i++) {
-                        bunny.addLikeCount();
-                    }
-                } else {
-                    for (int i = 0; i < Math.abs(likeCountDelta); i++) {
-                        bunny.subtractLikeCount();
-                    }
-                }
-
-                // 지표 업데이트
-                bunnyIndicatorService.updateBunnyReliability(bunny);
-                bunnyIndicatorService.updateBunnyValue(bunny);
-                bunnyIndicatorService.updateBunnyPopularity(bunny);
-            }
+        // 지표 재계산 요청 (버니별로 합쳐짐)
+        likeCounts.keySet().forEach(indicatorRecomputeQueue::request);
+        log.debug("좋아요 동기화: bunnies={}, inserted={}, deleted={}", likeCounts.size(), inserts.size(), deletes.size());
+    }
 
-            log.debug("Bunny {} 좋아요 동기화 완료: delta={}", bunny.getBunnyName(), likeCountDelta);
-        } catch (Exception e) {
-            log.error("Bunny {} 좋아요 동기화 중 오류 발생", bunny.getBunnyName(), e);
-            // 개별 Bunny 처리 실패는 로깅만 하고 계속 진행
+    private List<String> popDirty() {
+        List<Object> popped = redisTemplate.opsForSet().pop(LIKE_DIRTY_KEY, CHUNK_SIZE);
+        if (popped == null || popped.isEmpty()) return Collections.emptyList();
+        return popped.stream().map(Object::toString).toList();
+    }
+
+    // 버니별 SMEMBERS + 비었음 표시 EXISTS 를 한 번의 파이프라인으로
+    // Set 이 있거나(좋아요 목록) 비었음 표시가 있는(좋아요 0) 버니만 담음. 둘 다 없으면 Redis 값이 없는 것이므로 제외
+    private Map<String, Set<String>> fetchRedisLikes(List<String> bunnyIds) {
+        List<Object> results = redisUtil.pipeline(ops -> bunnyIds.forEach(id -> {
+            ops.opsForSet().members(LIKE_SET_KEY_PREFIX + id);
+            ops.hasKey(LIKE_EMPTY_KEY_PREFIX + id);
+        }));
+
+        Map<String, Set<String>> likes = new HashMap<>(bunnyIds.size() * 2);
+        for (int i = 0; i < bunnyIds.size(); i++) {
+            Object members = results.get(i * 2);
+            boolean emptied = Boolean.TRUE.equals(results.get(i * 2 + 1));
+
+            Set<String> users = new HashSet<>();
+            if (members instanceof Set<?> set) {
+                set.forEach(m -> users.add(m.toString()));
+            }
+            if (!users.isEmpty() || emptied) {
+                likes.put(bunnyIds.get(i), users);
+            }
         }
+        return likes;
     }
 }
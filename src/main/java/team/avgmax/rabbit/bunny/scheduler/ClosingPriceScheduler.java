@@ -13,7 +13,7 @@ public class ClosingPriceScheduler {
 
     @Scheduled(cron = "0 1 0 * * *", zone = "Asia/Seoul")
     public void rollDailyClose() {
-        // 내부에서 @Transactional + publishAfterCommit 사용
+        // 종가 확정 + 전일 BunnyHistory 적재 + 지표 갱신 + 종가 broadcast (청크 단위 트랜잭션)
         closingPriceService.rollAndBroadcastDailyClose();
     }
 }
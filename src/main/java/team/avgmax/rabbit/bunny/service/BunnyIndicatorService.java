@@ -1,31 +1,110 @@
 package team.avgmax.rabbit.bunny.service;
 
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import team.avgmax.rabbit.bunny.entity.Bunny;
 import team.avgmax.rabbit.bunny.entity.BunnyHistory;
+import team.avgmax.rabbit.bunny.entity.enums.DeveloperType;
+import team.avgmax.rabbit.bunny.entity.BunnyIndicatorState;
 import team.avgmax.rabbit.bunny.repository.BunnyHistoryRepository;
-import team.avgmax.rabbit.user.entity.Career;
+import team.avgmax.rabbit.bunny.repository.BunnyIndicatorStateRepository;
+import team.avgmax.rabbit.bunny.repository.BunnyRepository;
+import team.avgmax.rabbit.bunny.repository.custom.IndicatorBatchRepository;
+import team.avgmax.rabbit.bunny.repository.custom.IndicatorBatchRepository.Input;
+import team.avgmax.rabbit.bunny.repository.custom.IndicatorBatchRepository.Scores;
+import team.avgmax.rabbit.user.entity.UserSpecProfile;
+import team.avgmax.rabbit.user.repository.UserSpecProfileRepository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class BunnyIndicatorService {
     
+    private final BunnyRepository bunnyRepository;
     private final BunnyHistoryRepository bunnyHistoryRepository;
+    private final BunnyIndicatorStateRepository bunnyIndicatorStateRepository;
+    private final IndicatorBatchRepository indicatorBatchRepository;
+    private final UserSpecProfileRepository userSpecProfileRepository;
+
+    private static final int CHUNK_SIZE = 500;       // 한 번에 조회/기록할 버니 수
+    private static final int BASIC_DAYS = 7;         // 생성 후 7일 이내는 BASIC 유지
+
+    // 누적 상태 테이블이 비어 있으면 기존 BunnyHistory 로 한 번 채움
+    @PostConstruct
+    public void backfillStates() {
+        if (bunnyIndicatorStateRepository.count() > 0) return;
+
+        List<BunnyHistory> all = bunnyHistoryRepository.findAll(Sort.by("bunnyId", "date"));
+        if (all.isEmpty()) return;
+
+        List<BunnyIndicatorState> states = new ArrayList<>();
+        BunnyIndicatorState current = null;
+        for (BunnyHistory day : all) {
+            if (current != null && !current.getBunnyId().equals(day.getBunnyId())) {
+                states.add(current);
+                current = null;
+            }
+            BunnyIndicatorState next = BunnyIndicatorState.advance(current, day);
+            if (next != null) current = next;
+        }
+        if (current != null) states.add(current);
+
+        for (int i = 0; i < states.size(); i += CHUNK_SIZE) {
+            indicatorBatchRepository.upsertStates(states.subList(i, Math.min(i + CHUNK_SIZE, states.size())));
+        }
+        log.info("지표 누적 상태 초기 적재: histories={}, bunnies={}", all.size(), states.size());
+    }
+
+    // 새로 기록된 하루치 히스토리를 누적 상태에 반영 (버니당 O(1), 기존 상태는 1회 조회)
+    public void recordDailyHistories(List<BunnyHistory> days) {
+        if (days.isEmpty()) return;
+
+        Map<String, BunnyIndicatorState> existing = bunnyIndicatorStateRepository
+                .findAllById(days.stream().map(BunnyHistory::getBunnyId).toList())
+                .stream()
+                .collect(Collectors.toMap(BunnyIndicatorState::getBunnyId, Function.identity()));
+
+        List<BunnyIndicatorState> states = new ArrayList<>(days.size());
+        for (BunnyHistory day : days) {
+            BunnyIndicatorState next = BunnyIndicatorState.advance(existing.get(day.getBunnyId()), day);
+            if (next != null) states.add(next);
+        }
+        indicatorBatchRepository.upsertStates(states);
+    }
 
     // ==================== Public Update Methods ====================
     
     public void updateBunnyReliability(Bunny bunny) {
-        double reliability = calculateReliability(bunny);
+        String userId = bunny.getUser().getId();
+        updateBunnyReliability(bunny, userSpecProfileRepository.findById(userId).orElse(null));
+    }
+
+    private void updateBunnyReliability(Bunny bunny, UserSpecProfile profile) {
+        double reliability = calculateReliability(bunny, (profile != null) ? profile : createSpecProfile(bunny));
         bunny.updateReliability(reliability);
     }
+
+    // 요약이 아직 없는 사용자(기존 데이터)는 최초 1회만 컬렉션을 읽어 만들어 둠
+    private UserSpecProfile createSpecProfile(Bunny bunny) {
+        return userSpecProfileRepository.save(UserSpecProfile.from(bunny.getUser()));
+    }
     
     public void updateBunnyGrowth(Bunny bunny) {
         double growth = calculateAnnualizedGrowthRate(bunny.getId());
@@ -52,38 +131,102 @@ public class BunnyIndicatorService {
         bunny.updateBalance(balance);
     }
 
+    // ==================== Batch Update ====================
+
+    // IndicatorRecomputeQueue 가 모아 둔 버니의 신뢰도 → 가치 → 인기 재계산 (변경된 컬럼만 update)
+    @Transactional
+    public void recompute(Collection<String> bunnyIds) {
+        final List<String> ids = List.copyOf(bunnyIds);
+        for (int i = 0; i < ids.size(); i += CHUNK_SIZE) {
+            List<Bunny> bunnies = bunnyRepository.findAllById(ids.subList(i, Math.min(i + CHUNK_SIZE, ids.size())));
+            // 스펙 요약은 묶음당 1회 조회 (user 는 프록시의 id 만 사용하므로 로딩되지 않음)
+            Map<String, UserSpecProfile> profiles = userSpecProfileRepository
+                    .findAllById(bunnies.stream().map(b -> b.getUser().getId()).toList())
+                    .stream()
+                    .collect(Collectors.toMap(UserSpecProfile::getUserId, Function.identity()));
+
+            for (Bunny bunny : bunnies) {
+                updateBunnyReliability(bunny, profiles.get(bunny.getUser().getId()));
+                updateBunnyValue(bunny);
+                updateBunnyPopularity(bunny);
+            }
+        }
+    }
+
+    // 히스토리 기반 지표(성장/안정/인기/가치/균형)를 버니 묶음 단위로 일괄 재계산
+    // 묶음마다 버니 컬럼 + 누적 상태 조회 2회 → 코어 병렬 계산 → batch update 1회 (히스토리는 다시 읽지 않음)
+    public void refreshHistoryIndicators(Collection<String> bunnyIds) {
+        if (bunnyIds.isEmpty()) return;
+
+        final List<String> ids = List.copyOf(bunnyIds);
+        final LocalDateTime basicUntil = LocalDateTime.now().minusDays(BASIC_DAYS);
+
+        for (int i = 0; i < ids.size(); i += CHUNK_SIZE) {
+            List<String> chunk = ids.subList(i, Math.min(i + CHUNK_SIZE, ids.size()));
+
+            List<Input> inputs = indicatorBatchRepository.findInputs(chunk);
+            Map<String, BunnyIndicatorState> states = bunnyIndicatorStateRepository.findAllById(chunk)
+                    .stream()
+                    .collect(Collectors.toMap(BunnyIndicatorState::getBunnyId, Function.identity()));
+
+            Scores[] scores = new Scores[inputs.size()];
+            IntStream.range(0, inputs.size()).parallel().forEach(k -> {
+                Input input = inputs.get(k);
+                scores[k] = score(input, states.get(input.bunnyId()), basicUntil);
+            });
+
+            indicatorBatchRepository.updateScores(Arrays.asList(scores));
+        }
+        log.info("히스토리 기반 지표 일괄 갱신: bunnies={}", ids.size());
+    }
+
+    // Bunny.updateXxx 를 growth → stability → popularity → value → balance 순으로 호출한 것과 같은 결과
+    private static Scores score(Input input, BunnyIndicatorState state, LocalDateTime basicUntil) {
+        int growth = (int) growthOf(state);
+        int stability = (int) volatilityOf(state);
+        int popularity = (int) popularityScore(
+                tradingVolumeScore(state, input.bunnyType().getTotalSupply()), input.likeCount());
+        int value = (int) valueScore(input.marketCap(), input.reliability());
+        int balance = (int) balanceScore(input.marketCap(), growth, stability);
+
+        DeveloperType developerType = input.createdAt().isAfter(basicUntil)
+                ? DeveloperType.BASIC
+                : DeveloperType.resolve(growth, stability, value, popularity, balance);
+        return new Scores(input.bunnyId(), growth, stability, popularity, value, balance, developerType);
+    }
+
     // ==================== Reliability Calculation ====================
     
-    private double calculateReliability(Bunny bunny) {
-        double skillScore = calculateSkillScore(bunny);
+    private double calculateReliability(Bunny bunny, UserSpecProfile profile) {
+        double skillScore = calculateSkillScore(profile);
         double marketScore = calculateMarketScore(bunny);
-        double reputationScore = calculateReputationScore(bunny);
+        double reputationScore = calculateReputationScore(bunny, profile);
         
         double total = skillScore * 0.4 + marketScore * 0.3 + reputationScore * 0.3;
         return Math.max(0, Math.min(100, Math.round(total)));
     }
     
-    private double calculateSkillScore(Bunny bunny) {
+    private double calculateSkillScore(UserSpecProfile profile) {
         double score = 0;
         
         // 경력 점수: 0~10년을 0~40점으로 선형 변환
-        double years = calculateCareerYears(bunny);
+        double years = profile.careerDaysAsOf(LocalDate.now()) / 365.0;
         double careerScore = Math.min(40, years / 10.0 * 40);
         score += careerScore;
 
         // 기술 스택 점수: 0~5개를 0~5점으로 선형 변환
-        int techCount = bunny.getUser().getSkill().size();
+        int techCount = profile.getSkillCount();
         double techScore = Math.min(5, techCount / 5.0 * 5);
         score += techScore;
         
         // 자격증 점수: 0~3개를 0~5점으로 선형 변환
-        int certCount = bunny.getUser().getCertification().size();
+        int certCount = profile.getCertificationCount();
         double certScore = Math.min(5, certCount / 3.0 * 5);
         score += certScore;
 
         return score;
     }
-    
+
     private double calculateMarketScore(Bunny bunny) {
         double score = 0;
         double growth = bunny.getGrowth();
@@ -105,20 +248,13 @@ public class BunnyIndicatorService {
         return score;
     }
     
-    private double calculateReputationScore(Bunny bunny) {
+    private double calculateReputationScore(Bunny bunny, UserSpecProfile profile) {
         double score = 0;
 
         // 인증 점수: 증명서 비율을 0~10점으로 선형 변환
-        long totalItems = bunny.getUser().getCareer().size() + bunny.getUser().getCertification().size();
+        long totalItems = profile.getCareerCount() + profile.getCertificationCount();
         if (totalItems > 0) {
-            long verifiedCount = bunny.getUser().getCareer().stream()
-                    .mapToLong(c -> c.getCertificateUrl() != null && !c.getCertificateUrl().isBlank() ? 1 : 0)
-                    .sum() +
-                    bunny.getUser().getCertification().stream()
-                    .mapToLong(c -> c.getCertificateUrl() != null && !c.getCertificateUrl().isBlank() ? 1 : 0)
-                    .sum();
-            
-            double verificationScore = (double) verifiedCount / totalItems * 10;
+            double verificationScore = (double) profile.getVerifiedCount() / totalItems * 10;
             score += verificationScore;
         }
 
@@ -128,68 +264,34 @@ public class BunnyIndicatorService {
         score += likeScore;
 
         // 업데이트 점수: 0~365일을 10~0점으로 선형 변환 (최신일수록 높음)
-        long daysSinceUpdate = ChronoUnit.DAYS.between(bunny.getUser().getSpecUpdatedAt().toLocalDate(), LocalDate.now());
-        double updateScore = Math.max(0, 10 - (daysSinceUpdate / 365.0 * 10));
-        score += updateScore;
+        if (profile.getSpecUpdatedAt() != null) {
+            long daysSinceUpdate = ChronoUnit.DAYS.between(profile.getSpecUpdatedAt().toLocalDate(), LocalDate.now());
+            double updateScore = Math.max(0, 10 - (daysSinceUpdate / 365.0 * 10));
+            score += updateScore;
+        }
 
         return score;
     }
+
+    // ==================== Growth Calculation ====================
     
-    private double calculateCareerYears(Bunny bunny) {
-        List<Career> careers = bunny.getUser().getCareer();
-        if (careers.isEmpty()) return 0.0;
-        
-        long totalDays = calculateMergedCareerDays(careers);
-        return totalDays / 365.0;
+    private double calculateAnnualizedGrowthRate(String bunnyId) {
+        return growthOf(bunnyIndicatorStateRepository.findById(bunnyId).orElse(null));
     }
-    
-    private long calculateMergedCareerDays(List<Career> careers) {
-        List<LocalDate[]> periods = careers.stream()
-                .map(c -> new LocalDate[]{c.getStartDate(), c.getEndDate() != null ? c.getEndDate() : LocalDate.now()})
-                .sorted(Comparator.comparing(arr -> arr[0]))
-                .toList();
-
-        long totalDays = 0;
-        LocalDate currentStart = null, currentEnd = null;
-
-        for (LocalDate[] period : periods) {
-            if (currentStart == null) {
-                currentStart = period[0];
-                currentEnd = period[1];
-            } else if (!period[0].isAfter(currentEnd)) {
-                if (period[1].isAfter(currentEnd)) currentEnd = period[1];
-            } else {
-                totalDays += ChronoUnit.DAYS.between(currentStart, currentEnd);
-                currentStart = period[0];
-                currentEnd = period[1];
-            }
-        }
 
-        if (currentStart != null) totalDays += ChronoUnit.DAYS.between(currentStart, currentEnd);
-        return totalDays;
+    // 첫 히스토리 종가 → 마지막 히스토리 종가의 연환산 성장률(%)
+    private static double growthOf(BunnyIndicatorState state) {
+        if (state == null) return 0.0;
+        return annualizedGrowthRate(state.spanDays(), toDouble(state.getFirstClose()), toDouble(state.getLastClose()));
     }
 
-    // ==================== Growth Calculation ====================
-    
-    private double calculateAnnualizedGrowthRate(String bunnyId) {
-        List<BunnyHistory> histories = bunnyHistoryRepository.findAllByBunnyIdOrderByDateAsc(bunnyId);
-        
-        if (histories.size() < 2) return 0.0;
-        
-        BunnyHistory first = histories.get(0);
-        BunnyHistory last = histories.get(histories.size() - 1);
-        
-        BigDecimal startValue = first.getClosingPrice();
-        BigDecimal endValue = last.getClosingPrice();
-        
-        if (startValue == null || endValue == null || startValue.compareTo(BigDecimal.ZERO) == 0) {
+    private static double annualizedGrowthRate(long days, double startValue, double endValue) {
+        if (Double.isNaN(startValue) || Double.isNaN(endValue) || startValue == 0) {
             return 0.0;
         }
-        
-        long days = ChronoUnit.DAYS.between(first.getDate(), last.getDate());
         if (days <= 0) return 0.0;
         
-        double ratio = endValue.doubleValue() / startValue.doubleValue();
+        double ratio = endValue / startValue;
         double annualized = Math.pow(ratio, 365.0 / days) - 1.0;
         
         return annualized * 100;
@@ -198,48 +300,34 @@ public class BunnyIndicatorService {
     // ==================== Stability Calculation ====================
     
     private double calculateVolatility30dPct(String bunnyId) {
-        List<BunnyHistory> histories = bunnyHistoryRepository.findRecentByBunnyIdOrderByDateAsc(bunnyId, 31);
-        
-        if (histories.size() < 2) return 0.0;
-        
-        List<Double> returns = new ArrayList<>();
-        for (int i = 1; i < histories.size(); i++) {
-            BigDecimal prev = histories.get(i - 1).getClosingPrice();
-            BigDecimal curr = histories.get(i).getClosingPrice();
-            
-            if (prev == null || curr == null || prev.compareTo(BigDecimal.ZERO) == 0) {
-                continue;
-            }
-            
-            double r = Math.log(curr.doubleValue() / prev.doubleValue());
-            returns.add(r);
-        }
-        
-        if (returns.isEmpty()) return 0.0;
-        
-        double mean = returns.stream().mapToDouble(Double::doubleValue).average().orElse(0.0);
-        double variance = returns.stream()
-                .mapToDouble(r -> Math.pow(r - mean, 2))
-                .sum() / returns.size();
-        double stdDev = Math.sqrt(variance);
-        
-        return stdDev * 100;
+        return volatilityOf(bunnyIndicatorStateRepository.findById(bunnyId).orElse(null));
+    }
+
+    // 최근 30일 로그수익률의 표준편차(%). 누적 상태의 Welford 통계를 그대로 사용
+    private static double volatilityOf(BunnyIndicatorState state) {
+        return (state != null) ? state.volatilityPct() : 0.0;
+    }
+
+    private static double toDouble(BigDecimal value) {
+        return (value != null) ? value.doubleValue() : Double.NaN;
     }
 
     // ==================== Value Calculation ====================
     
     private double calculateValueScore(Bunny bunny) {
+        return valueScore(bunny.getMarketCap(), bunny.getReliability());
+    }
+
+    private static double valueScore(BigDecimal marketCap, double reliability) {
         double score = 0;
         
         // 시가총액 점수: 0~200억을 0~50점으로 선형 변환
-        BigDecimal marketCap = bunny.getMarketCap();
         if (marketCap != null) {
             double marketCapScore = Math.min(50, marketCap.doubleValue() / 20_000_000_000.0 * 50);
             score += marketCapScore;
         }
         
         // 신뢰도 점수: 0~100점을 0~50점으로 선형 변환
-        double reliability = bunny.getReliability();
         double reliabilityScore = reliability / 100.0 * 50;
         score += reliabilityScore;
         
@@ -249,63 +337,64 @@ public class BunnyIndicatorService {
     // ==================== Popularity Calculation ====================
     
     private double calculatePopularityScore(Bunny bunny) {
+        return popularityScore(calculateTradingVolumeScore(bunny), bunny.getLikeCount());
+    }
+
+    private static double popularityScore(double tradingScore, long likeCount) {
         double score = 0;
         
-        double tradingScore = calculateTradingVolumeScore(bunny);
         score += tradingScore;
         
-        double likeScore = calculateLikeCountScore(bunny.getLikeCount());
+        double likeScore = calculateLikeCountScore(likeCount);
         score += likeScore;
         
         return Math.min(100, score);
     }
     
     private double calculateTradingVolumeScore(Bunny bunny) {
-        List<BunnyHistory> histories = bunnyHistoryRepository.findRecentByBunnyIdOrderByDateAsc(bunny.getId(), 30);
-        
-        if (histories.isEmpty()) return 0.0;
-        
-        double totalVolume = histories.stream()
-                .mapToDouble(h -> {
-                    BigDecimal tradeQty = h.getTradeQuantity();
-                    return (tradeQty != null && tradeQty.compareTo(BigDecimal.ZERO) > 0) 
-                            ? tradeQty.doubleValue() 
-                            : 0.0;
-                })
-                .sum();
+        BunnyIndicatorState state = bunnyIndicatorStateRepository.findById(bunny.getId()).orElse(null);
+        return tradingVolumeScore(state, bunny.getBunnyType().getTotalSupply());
+    }
+
+    private static double tradingVolumeScore(BunnyIndicatorState state, BigDecimal totalSupply) {
+        if (state == null || state.getVolumeDays() == 0) return 0.0;
         
-        double avgDailyVolume = totalVolume / histories.size();
+        // 최근 30일 일평균 거래량
+        double avgDailyVolume = state.averageDailyVolume();
         
         // BunnyType별 총 발행량에 따른 거래량 비율 계산
-        BigDecimal totalSupply = bunny.getBunnyType().getTotalSupply();
         double tradingRatio = avgDailyVolume / totalSupply.doubleValue();
         
         // 거래량 비율을 0~60점으로 선형 변환 (최대 2% 기준)
         return Math.min(60, tradingRatio / 0.02 * 60);
     }
     
-    private double calculateLikeCountScore(long likeCount) {
+    private static double calculateLikeCountScore(long likeCount) {
         return Math.min(40, likeCount / 100.0 * 40);
     }
 
     // ==================== Balance Calculation ====================
     
     private double calculateBalanceScore(Bunny bunny) {
+        return balanceScore(bunny.getMarketCap(), bunny.getGrowth(), bunny.getStability());
+    }
+
+    private static double balanceScore(BigDecimal marketCap, double growth, double stability) {
         double score = 0;
         
-        double marketCapScore = calculateMarketCapBalanceScore(bunny.getMarketCap());
+        double marketCapScore = calculateMarketCapBalanceScore(marketCap);
         score += marketCapScore;
         
-        double growthScore = calculateGrowthBalanceScore(bunny.getGrowth());
+        double growthScore = calculateGrowthBalanceScore(growth);
         score += growthScore;
         
-        double stabilityScore = calculateStabilityBalanceScore(bunny.getStability());
+        double stabilityScore = calculateStabilityBalanceScore(stability);
         score += stabilityScore;
         
         return Math.min(100, score);
     }
     
-    private double calculateMarketCapBalanceScore(BigDecimal marketCap) {
+    private static double calculateMarketCapBalanceScore(BigDecimal marketCap) {
         if (marketCap == null) return 0.0;
         
         double cap = marketCap.doubleValue();
@@ -322,7 +411,7 @@ public class BunnyIndicatorService {
         }
     }
     
-    private double calculateGrowthBalanceScore(double growth) {
+    private static double calculateGrowthBalanceScore(double growth) {
         // 이상적인 성장률: 10% ~ 30%에서 최대 점수
         if (growth >= 10 && growth <= 30) {
             return 30.0;
@@ -335,7 +424,7 @@ public class BunnyIndicatorService {
         }
     }
     
-    private double calculateStabilityBalanceScore(double stability) {
+    private static double calculateStabilityBalanceScore(double stability) {
         // 이상적인 변동성: 5% ~ 15%에서 최대 점수
         if (stability >= 5 && stability <= 15) {
             return 30.0;
@@ -1,10 +1,16 @@
 package team.avgmax.rabbit.bunny.service;
 
 import com.querydsl.core.Tuple;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
 import lombok.RequiredArgsConstructor;
@@ -20,6 +26,7 @@ import team.avgmax.rabbit.bunny.dto.data.MyBunnyByDevTypeData;
 import team.avgmax.rabbit.bunny.dto.data.MyBunnyByHolderData;
 import team.avgmax.rabbit.bunny.dto.orderBook.OrderBookDiff;
 import team.avgmax.rabbit.bunny.dto.orderBook.OrderBookLevel;
+import team.avgmax.rabbit.bunny.dto.orderBook.OrderBookResync;
 import team.avgmax.rabbit.bunny.dto.orderBook.OrderBookSnapshot;
 import team.avgmax.rabbit.bunny.dto.request.OrderRequest;
 import team.avgmax.rabbit.bunny.dto.response.ChartDataPoint;
@@ -33,6 +40,7 @@ import team.avgmax.rabbit.bunny.dto.response.OrderListResponse;
 import team.avgmax.rabbit.bunny.dto.response.OrderResponse;
 import team.avgmax.rabbit.bunny.dto.response.RabbitIndexResponse;
 import team.avgmax.rabbit.bunny.entity.*;
+import team.avgmax.rabbit.bunny.entity.enums.BarInterval;
 import team.avgmax.rabbit.bunny.entity.enums.BunnyFilter;
 import team.avgmax.rabbit.bunny.entity.enums.BunnyType;
 import team.avgmax.rabbit.bunny.entity.enums.OrderType;
@@ -41,9 +49,18 @@ import team.avgmax.rabbit.bunny.entity.enums.DeveloperType;
 import team.avgmax.rabbit.bunny.exception.BunnyError;
 import team.avgmax.rabbit.bunny.exception.BunnyException;
 import team.avgmax.rabbit.bunny.repository.*;
+import team.avgmax.rabbit.bunny.service.bar.BarBuilder;
 import team.avgmax.rabbit.bunny.service.match.MatchingEngine;
 import team.avgmax.rabbit.bunny.service.match.MatchingResult;
+import team.avgmax.rabbit.bunny.service.match.OrderBook;
+import team.avgmax.rabbit.bunny.service.match.OrderBookRegistry;
+import team.avgmax.rabbit.bunny.service.match.OrderCommandForwarder;
+import team.avgmax.rabbit.bunny.service.match.OrderMatcherLease;
+import team.avgmax.rabbit.bunny.service.match.OrderSequencer;
+import team.avgmax.rabbit.bunny.service.match.RestingOrder;
 import team.avgmax.rabbit.bunny.service.orderBook.OrderBookAssembler;
+import team.avgmax.rabbit.bunny.service.orderBook.OrderBookReplayBuffer;
+import team.avgmax.rabbit.global.money.LongMoney;
 import team.avgmax.rabbit.global.money.MoneyCalc;
 import team.avgmax.rabbit.global.util.RedisUtil;
 import team.avgmax.rabbit.user.dto.response.SpecResponse;
@@ -62,9 +79,9 @@ import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
-import static team.avgmax.rabbit.bunny.service.orderBook.OrderBookAssembler.normalizePrice;
 
 import team.avgmax.rabbit.ai.service.ChatClientService;
 
@@ -76,6 +93,7 @@ public class BunnyService {
     private final BunnyRepository bunnyRepository;
     private final BadgeRepository badgeRepository;
     private final BunnyHistoryRepository bunnyHistoryRepository;
+    private final BunnyBarRepository bunnyBarRepository;
     private final HoldBunnyRepository holdBunnyRepository;
     private final BunnyLikeRepository bunnyLikeRepository;
     private final PersonalUserRepository personalUserRepository;
@@ -83,35 +101,49 @@ public class BunnyService {
     private final OrderRepository orderRepository;
     private final MatchRepository matchRepository;
     private final OrderBookAssembler orderBookAssembler;
+    private final OrderBookReplayBuffer orderBookReplayBuffer;
     private final OrderBookPublisher orderBookPublisher;
     private final PriceTickPublisher priceTickPublisher;
     private final ChatClientService chatClientService;
     private final MatchingEngine matchingEngine;
+    private final OrderBookRegistry orderBookRegistry;
+    private final OrderSequencer orderSequencer;
+    private final OrderMatcherLease orderMatcherLease;
+    private final OrderCommandForwarder orderCommandForwarder;
+    private final BarBuilder barBuilder;
+    private final ChartCache chartCache;
+    private final MarketCapRanking marketCapRanking;
     private final RedisUtil redisUtil;
 
     private static final String LIKE_SET_KEY_PREFIX = "bunny_like:";
-
-    // RABBIT 지수 조회
-    @Transactional(readOnly = true)
+    private static final String LIKE_DIRTY_KEY = "bunny_like_dirty"; // 동기화 대상 (BunnyLikeSyncScheduler)
+    private static final String LIKE_EMPTY_KEY_PREFIX = "bunny_like_empty:"; // 마지막 좋아요가 취소되어 Set 이 비었음을 표시
+
+    // 좋아요 Set 변경. Set 도 비었음 표시도 없으면(Redis 초기화/만료) DB 좋아요로 먼저 채움
+    // ARGV: op(add/remove), userId, bunnyId, DB 값 포함 여부(1/0), DB 좋아요 사용자...
+    // 반환: 1 = 반영, -1 = DB 값이 필요함 (아무것도 바꾸지 않음)
+    private static final RedisScript<Long> CHANGE_LIKE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 0 and redis.call('EXISTS', KEYS[2]) == 0 then " +
+            "  if ARGV[4] ~= '1' then return -1 end " +
+            "  for i = 5, #ARGV do redis.call('SADD', KEYS[1], ARGV[i]) end " +
+            "end " +
+            "if ARGV[1] == 'add' then " +
+            "  redis.call('SADD', KEYS[1], ARGV[2]) " +
+            "  redis.call('DEL', KEYS[2]) " +
+            "else " +
+            "  redis.call('SREM', KEYS[1], ARGV[2]) " +
+            "  if redis.call('EXISTS', KEYS[1]) == 0 then redis.call('SET', KEYS[2], '1') end " +
+            "end " +
+            "redis.call('SADD', KEYS[3], ARGV[3]) " +
+            "return 1",
+            Long.class);
+
+    @Value("${app.websocket.orderbook.snapshot-depth:0}")
+    private int snapshotDepth; // 호가창 스냅샷에 담을 한쪽 최대 레벨 수 (0 이면 전체)
+
+    // RABBIT 지수 조회 (시가총액 합/버니 수는 MarketCapRanking 이 증분 유지)
     public RabbitIndexResponse getRabbitIndex() {
-        BigDecimal baseMarketCapSum = BigDecimal.valueOf(bunnyRepository.count()).multiply(BigDecimal.valueOf(100_000_000));
-        BigDecimal currentMarketCapSum = bunnyRepository.sumCurrentMarketCap();
-        
-        double rabbitIndex;
-        if (baseMarketCapSum.compareTo(BigDecimal.ZERO) == 0) {
-            rabbitIndex = 100.0;
-        } else {
-            double rawIndex = currentMarketCapSum
-                    .divide(baseMarketCapSum, 4, RoundingMode.HALF_UP)
-                    .multiply(BigDecimal.valueOf(100))
-                    .doubleValue();
-            rabbitIndex = Math.min(rawIndex, 200.0);
-        }
-        double finalScore = rabbitIndex / 2.0;
-        
-        return RabbitIndexResponse.builder()
-                .rabbitIndex(finalScore)
-                .build();
+        return marketCapRanking.rabbitIndex();
     }
 
     // 업데이트 알림 목록 조회
@@ -128,15 +160,24 @@ public class BunnyService {
         Page<Bunny> bunnies = switch (filter) {
                 case ALL -> bunnyRepository.findAll(Pageable.unpaged());
                 case LATEST -> bunnyRepository.findAllByOrderByCreatedAtDesc(pageable);
-                case CAPITALIZATION -> bunnyRepository.findAllByOrderByMarketCapDesc(pageable);
+                case CAPITALIZATION -> getBunniesByMarketCap(pageable);
                 default -> bunnyRepository.findAll(pageable);
         };
 
         if (bunnies.isEmpty()) {
             log.debug("No bunnies found for filter={}", filter);
+            return bunnies.map(FetchBunnyResponse::from);
         }
 
-        return bunnies.map(FetchBunnyResponse::from);
+        // 페이지 전체의 실시간 좋아요 수를 한 번의 파이프라인으로 조회
+        List<Bunny> content = bunnies.getContent();
+        List<Long> likeCounts = redisUtil.getSetSizes(content.stream().map(b -> LIKE_SET_KEY_PREFIX + b.getId()).toList());
+        Map<String, Long> likeCountById = new HashMap<>(content.size() * 2);
+        for (int i = 0; i < content.size(); i++) {
+            likeCountById.put(content.get(i).getId(), likeCountOf(content.get(i), likeCounts.get(i)));
+        }
+
+        return bunnies.map(bunny -> FetchBunnyResponse.from(bunny, likeCountById.get(bunny.getId())));
     }
 
     // 버니 상세 조회
@@ -147,7 +188,7 @@ public class BunnyService {
         log.debug("Found bunny id={} name={}", bunny.getId(), bunny.getBunnyName());
 
         // Redis에서 실시간 좋아요 수 조회
-        long realTimeLikeCount = getTotalLikeCount(bunny.getId());
+        long realTimeLikeCount = getTotalLikeCount(bunny);
         return FetchBunnyResponse.from(bunny, realTimeLikeCount);
     }
 
@@ -161,11 +202,9 @@ public class BunnyService {
         PersonalUser user = personalUserRepository.findById(userId)
                 .orElseThrow(() -> new UserException(UserError.USER_NOT_FOUND));
 
-        // Redis와 DB 모두 확인하여 좋아요 여부 판단
+        // Redis 좋아요 여부는 비동기로 먼저 요청해 두고 DB 조회와 겹쳐서 기다림
         String likeSetKey = LIKE_SET_KEY_PREFIX + bunny.getId();
-        boolean isLikedInRedis = redisUtil.isMemberOfSet(likeSetKey, userId);
-        boolean isLikedInDb = bunnyLikeRepository.existsByBunnyIdAndUserId(bunny.getId(), userId);
-        boolean isLiked = isLikedInRedis || isLikedInDb;
+        CompletableFuture<Boolean> likedInRedis = redisUtil.isMemberOfSetAsync(likeSetKey, userId).toFuture();
 
         // 매도 가능한 수량 계산 (사용자가 보유한 해당 bunny의 quantity 합계)
         BigDecimal sellableQuantity = holdBunnyRepository.findTotalQuantityByUserIdAndBunnyId(userId, bunny.getId());
@@ -173,6 +212,10 @@ public class BunnyService {
         // 매수 가능한 금액 계산
         BigDecimal buyableAmount = calculateBuyableAmount(user, bunny);
 
+        // Redis와 DB 모두 확인하여 좋아요 여부 판단 (Redis 에 있으면 DB 조회 생략)
+        boolean isLiked = likedInRedis.join()
+                || bunnyLikeRepository.existsByBunnyIdAndUserId(bunny.getId(), userId);
+
         return BunnyUserContextResponse.of(
                 isLiked,
                 buyableAmount,
@@ -239,17 +282,52 @@ public class BunnyService {
                 .build();
     }
 
-    // 거래 차트 조회
-    @Transactional(readOnly = true)
+    // 거래 차트 조회 (캐시 적중 시 DB 조회 없음, 분봉/시간봉은 진행 중 봉만 메모리에서 덧붙임)
     public ChartResponse getChart(String bunnyName, ChartInterval interval) {
-        Bunny bunny = bunnyRepository.findByBunnyName(bunnyName)
-                .orElseThrow(() -> new BunnyException(BunnyError.BUNNY_NOT_FOUND));
+        String bunnyId = chartCache.bunnyIdOf(bunnyName, () -> bunnyRepository.findByBunnyName(bunnyName)
+                .orElseThrow(() -> new BunnyException(BunnyError.BUNNY_NOT_FOUND))
+                .getId());
+
+        ChartResponse stored = chartCache.get(bunnyId, interval,
+                () -> ChartResponse.from(findStoredChartData(bunnyId, interval), bunnyName, interval));
+
+        return switch (interval) {
+            case MINUTE -> withCurrentBar(stored, bunnyId, BarInterval.MINUTE, interval.getPoints());
+            case HOURLY -> withCurrentBar(stored, bunnyId, BarInterval.HOUR, interval.getPoints());
+            case DAILY, WEEKLY, MONTHLY -> stored;
+        };
+    }
 
-        List<ChartDataPoint> chartData =
-                Optional.ofNullable(bunnyHistoryRepository.findChartData(bunny.getId(), interval))
-                        .orElseGet(Collections::emptyList);
+    private List<ChartDataPoint> findStoredChartData(String bunnyId, ChartInterval interval) {
+        return switch (interval) {
+            case MINUTE -> findStoredBars(bunnyId, BarInterval.MINUTE, interval.getPoints());
+            case HOURLY -> findStoredBars(bunnyId, BarInterval.HOUR, interval.getPoints());
+            case DAILY, WEEKLY, MONTHLY ->
+                    Optional.ofNullable(bunnyHistoryRepository.findChartData(bunnyId, interval))
+                            .orElseGet(Collections::emptyList);
+        };
+    }
 
-        return ChartResponse.from(chartData, bunny.getBunnyName(), interval);
+    private List<ChartDataPoint> findStoredBars(String bunnyId, BarInterval barInterval, int points) {
+        return bunnyBarRepository.findAllByBunnyIdAndBarIntervalOrderByOpenTimeDesc(bunnyId, barInterval, PageRequest.of(0, points))
+                .stream()
+                .map(ChartDataPoint::from)
+                .toList();
+    }
+
+    // 기록된 봉(최신순) 앞에 아직 기록되지 않은 진행 중 봉을 붙임
+    private ChartResponse withCurrentBar(ChartResponse stored, String bunnyId, BarInterval barInterval, int points) {
+        Optional<BunnyBar> current = barBuilder.current(bunnyId, barInterval);
+        if (current.isEmpty()) return stored;
+
+        List<ChartDataPoint> chartData = new ArrayList<>(points);
+        chartData.add(ChartDataPoint.from(current.get()));
+        for (ChartDataPoint point : stored.getChartDataList()) {
+            if (chartData.size() >= points) break;
+            if (current.get().getOpenTime().equals(point.getOpenTime())) continue;
+            chartData.add(point);
+        }
+        return ChartResponse.from(chartData, stored.getBunnyName(), stored.getInterval());
     }
 
     // 특정 버니 마이 리스트 조회
@@ -269,10 +347,9 @@ public class BunnyService {
     // 좋아요 추가
     public void addBunnyLike(String bunnyName, String userId, Role role) {
         Bunny bunny = findBunnyByName(bunnyName);
-        String likeSetKey = LIKE_SET_KEY_PREFIX + bunny.getId();
-        
-        // Redis Set에 추가 (중복 자동 방지)
-        redisUtil.addToSet(likeSetKey, userId);
+
+        // Redis Set에 추가 (중복 자동 방지) + 동기화 대상 표시
+        changeLike(bunny, userId, true);
         
         // Corporation 사용자의 경우 Badge는 즉시 처리 (비즈니스 로직상 중요)
         if (role == Role.ROLE_CORPORATION) {
@@ -285,10 +362,9 @@ public class BunnyService {
     // 좋아요 취소
     public void cancelBunnyLike(String bunnyName, String userId, Role role) {
         Bunny bunny = findBunnyByName(bunnyName);
-        String likeSetKey = LIKE_SET_KEY_PREFIX + bunny.getId();
-        
-        // Redis Set에서 제거
-        redisUtil.removeFromSet(likeSetKey, userId);
+
+        // Redis Set에서 제거 + 동기화 대상 표시
+        changeLike(bunny, userId, false);
         
         // Corporation 사용자의 경우 Badge는 즉시 삭제 (비즈니스 로직상 중요)
         if (role == Role.ROLE_CORPORATION) {
@@ -296,6 +372,19 @@ public class BunnyService {
         }
     }
 
+    // 보통은 스크립트 1회. Redis 에 이 버니의 좋아요가 없을 때만 DB 에서 읽어 채운 뒤 다시 실행
+    private void changeLike(Bunny bunny, String userId, boolean like) {
+        List<String> keys = List.of(LIKE_SET_KEY_PREFIX + bunny.getId(), LIKE_EMPTY_KEY_PREFIX + bunny.getId(), LIKE_DIRTY_KEY);
+        String op = like ? "add" : "remove";
+
+        Long result = redisUtil.execute(CHANGE_LIKE_SCRIPT, keys, op, userId, bunny.getId(), "0");
+        if (result == null || result >= 0) return;
+
+        List<Object> args = new ArrayList<>(List.of(op, userId, bunny.getId(), "1"));
+        args.addAll(bunnyLikeRepository.findUserIdsByBunnyId(bunny.getId()));
+        redisUtil.execute(CHANGE_LIKE_SCRIPT, keys, args.toArray());
+    }
+
     private Bunny findBunnyByName(String bunnyName) {
         return bunnyRepository.findByBunnyName(bunnyName)
                 .orElseThrow(() -> new BunnyException(BunnyError.BUNNY_NOT_FOUND));
@@ -305,30 +394,70 @@ public class BunnyService {
      * Redis Set의 크기를 실시간 좋아요 수로 반환
      * DB의 likeCount는 스케줄러로 주기적으로 동기화됨
      */
-    private long getTotalLikeCount(String bunnyId) {
-        String likeSetKey = LIKE_SET_KEY_PREFIX + bunnyId;
-        long redisLikeCount = redisUtil.getSetSize(likeSetKey);
-        
-        // Redis에 데이터가 없으면 DB 값 사용 (초기 상태 또는 Redis 장애 시)
-        if (redisLikeCount == 0) {
-            Bunny bunny = bunnyRepository.findById(bunnyId)
-                    .orElseThrow(() -> new BunnyException(BunnyError.BUNNY_NOT_FOUND));
-            return bunny.getLikeCount();
-        }
-        
-        return redisLikeCount;
+    private long getTotalLikeCount(Bunny bunny) {
+        String likeSetKey = LIKE_SET_KEY_PREFIX + bunny.getId();
+        return likeCountOf(bunny, redisUtil.getSetSize(likeSetKey));
     }
 
-    // 거래 주문 요청
-    @Transactional
+    // Redis에 데이터가 없으면 DB 값 사용 (초기 상태 또는 Redis 장애 시)
+    private static long likeCountOf(Bunny bunny, long redisLikeCount) {
+        return (redisLikeCount == 0) ? bunny.getLikeCount() : redisLikeCount;
+    }
+
+    // 다른 노드에서 전달된 주문/취소는 이 노드 시퀀서에서 바로 실행 (다시 전달하지 않음)
+    @PostConstruct
+    public void registerOrderCommandHandler() {
+        orderCommandForwarder.register(new OrderCommandForwarder.Handler() {
+            @Override
+            public OrderResponse create(String bunnyName, OrderRequest request, String userId) {
+                return createOrderLocally(bunnyName, request, userId);
+            }
+
+            @Override
+            public void cancel(String bunnyName, String orderId, String userId) {
+                cancelOrderLocally(bunnyName, orderId, userId);
+            }
+        });
+    }
+
+    // 거래 주문 요청 (매칭 담당 노드가 아니면 담당 노드로 전달)
     public OrderResponse createOrder(String bunnyName, OrderRequest request, String userId) {
-        // 사용자 조회 및 잠금
+        if (!orderMatcherLease.isOwner()) {
+            return orderCommandForwarder.create(orderMatcherLease.ownerId(), bunnyName, request, userId);
+        }
+        return createOrderLocally(bunnyName, request, userId);
+    }
+
+    // 거래 주문 취소 (매칭 담당 노드가 아니면 담당 노드로 전달)
+    public void cancelOrder(String bunnyName, String orderId, String userId) {
+        if (!orderMatcherLease.isOwner()) {
+            orderCommandForwarder.cancel(orderMatcherLease.ownerId(), bunnyName, orderId, userId);
+            return;
+        }
+        cancelOrderLocally(bunnyName, orderId, userId);
+    }
+
+    // 버니 담당 시퀀서 워커에서 순서대로 실행
+    private OrderResponse createOrderLocally(String bunnyName, OrderRequest request, String userId) {
+        return orderSequencer.submit(bunnyName, () -> executeCreateOrder(bunnyName, request, userId));
+    }
+
+    private void cancelOrderLocally(String bunnyName, String orderId, String userId) {
+        orderSequencer.run(bunnyName, () -> executeCancelOrder(bunnyName, orderId, userId));
+    }
+
+    private OrderResponse executeCreateOrder(String bunnyName, OrderRequest request, String userId) {
+        // 매칭 담당 노드에서만 처리 (전달 도중 담당이 바뀐 경우 503)
+        orderMatcherLease.checkOwner();
         Bunny bunny = bunnyRepository.findByBunnyName(bunnyName)
                 .orElseThrow(() -> new BunnyException(BunnyError.BUNNY_NOT_FOUND));
-        PersonalUser user = personalUserRepository.findByIdForUpdate(userId);
+        // 잠금 없이 잔액만 사전 검증 (행 잠금은 매칭 엔진이 상대방과 함께 id 순으로 잡고 재검증)
+        BigDecimal currentCarrot = personalUserRepository.findCarrotById(userId)
+                .orElseThrow(() -> new UserException(UserError.USER_NOT_FOUND));
+        PersonalUser user = personalUserRepository.getReferenceById(userId);
 
         switch (request.orderType()) {
-            case BUY -> validateBuy(request, user);
+            case BUY -> validateBuy(request, currentCarrot);
             case SELL -> validateSell(bunny, request, user);
             default -> throw new BunnyException(BunnyError.UNSUPPORTED_ORDER_TYPE);
         }
@@ -336,12 +465,7 @@ public class BunnyService {
         // 신규 주문 저장 (초기 quantity = 요청 수량)
         Order myOrder = orderRepository.save(request.toEntity(user, bunny));
 
-        // 매수 시 예약금(원금 + 수수료) 즉시 선차감
-        if (myOrder.getOrderType() == OrderType.BUY) {
-            BigDecimal reserved = MoneyCalc.buyerReservation(myOrder.getQuantity(), myOrder.getUnitPrice());
-            personalUserRepository.findByIdForUpdate(user.getId());
-            user.subtractCarrot(reserved);
-        }
+        // 매수 예약금(원금 + 수수료) 선차감은 매칭 엔진 정산에서 체결분과 상계해 반영
 
         // 매도 시 매도량만큼 즉시 선차감
         if (myOrder.getOrderType() == OrderType.SELL) {
@@ -360,13 +484,8 @@ public class BunnyService {
             touchedAsk.add(myOrder.getUnitPrice());
         }
 
-        // 반대편 후보 조회 및 잠금
-        List<Order> candidates = (myOrder.getOrderType() == OrderType.BUY)
-                ? orderRepository.lockedSellCandidatesByPriceAsc(bunny.getId(), myOrder.getUnitPrice(), user.getId())
-                : orderRepository.lockedBuyCandidatesByPriceDesc(bunny.getId(), myOrder.getUnitPrice(), user.getId());
-
-        // 매칭 엔진 호출 (체결/정산/잔량처리)
-        MatchingResult result = matchingEngine.match(bunny, myOrder, candidates);
+        // 매칭 엔진 호출 (메모리 호가창 기준 체결/정산/잔량처리)
+        MatchingResult result = matchingEngine.match(bunny, myOrder);
 
         // 터치 결과
         touchedBid.addAll(result.touchedBid());
@@ -382,14 +501,13 @@ public class BunnyService {
         return OrderResponse.from(myOrder);
     }
 
-    // 거래 주문 취소
-    @Transactional
-    public void cancelOrder(String bunnyName, String orderId, String userId) {
+    private void executeCancelOrder(String bunnyName, String orderId, String userId) {
+        orderMatcherLease.checkOwner();
         Bunny bunny = bunnyRepository.findByBunnyName(bunnyName)
                 .orElseThrow(() -> new BunnyException(BunnyError.BUNNY_NOT_FOUND));
 
-        // 대상 주문 잠금
-        Order order = orderRepository.findByIdAndBunnyIdForUpdate(orderId, bunny.getId());
+        // 대상 주문 조회 (같은 버니 주문은 한 워커에서만 변경되므로 행 잠금 불필요)
+        Order order = orderRepository.findByIdAndBunnyId(orderId, bunny.getId());
         if (order == null) throw new BunnyException(BunnyError.ORDER_NOT_FOUND);
 
         // 소유자 검증
@@ -414,8 +532,9 @@ public class BunnyService {
             holdBunnyRepository.adjustReservation(order.getUser().getId(), bunny.getId(), order.getQuantity());
         }
 
-        // 주문 삭제 (취소 처리)
+        // 주문 삭제 (취소 처리), 커밋 후 호가창에서도 제거
         orderRepository.delete(order);
+        orderBookRegistry.afterCommit(bunny.getId(), b -> b.remove(orderId));
 
         // Diff 반영할 가격 레벨 수집
         Set<BigDecimal> bidTouched = new HashSet<>();
@@ -430,25 +549,28 @@ public class BunnyService {
         emitOrderBookDiff(bunny, bidTouched, askTouched);
     }
 
-    // 특정 버니 호가창 스냅샷 조회
-    @Transactional(readOnly = true)
+    // 특정 버니 호가창 스냅샷 조회 (호가창 변경 시마다 갱신된 캐시를 그대로 반환)
     public OrderBookSnapshot getOrderBookSnapshot(String bunnyName) {
-        Bunny bunny = bunnyRepository.findByBunnyName(bunnyName)
-                .orElseThrow(() -> new BunnyException(BunnyError.BUNNY_NOT_FOUND));
-
-        List<Order> buyOrders  = orderRepository.findAllByBunnyAndSideForOrderBook(bunny.getId(), OrderType.BUY);
-        List<Order> sellOrders = orderRepository.findAllByBunnyAndSideForOrderBook(bunny.getId(), OrderType.SELL);
+        // 매칭 담당 노드가 아니면 이 노드의 메모리 호가창은 갱신되지 않으므로 DB 기준으로 구성
+        if (!orderMatcherLease.isOwner()) return followerSnapshot(bunnyName);
 
-        // Order → OrderLeaf 변환 (잔여 수량 계산 포함)
-        List<OrderBookAssembler.OrderLeaf> allLeaves = new ArrayList<>();
-        allLeaves.addAll(toLeaves(buyOrders));
-        allLeaves.addAll(toLeaves(sellOrders));
+        OrderBookSnapshot cached = orderBookRegistry.snapshot(bunnyName);
+        if (cached != null) return cached;
 
-        List<OrderBookLevel> orders = orderBookAssembler.toLevel(allLeaves);
-
-        BigDecimal currentPrice = queryCurrentPrice(bunny);
+        // 기동 후 첫 조회: 호가창은 담당 워커 스레드에서만 읽으므로 시퀀서를 통해 생성
+        return orderSequencer.submit(bunnyName, () -> {
+            Bunny bunny = bunnyRepository.findByBunnyName(bunnyName)
+                    .orElseThrow(() -> new BunnyException(BunnyError.BUNNY_NOT_FOUND));
+            return refreshSnapshot(orderBookRegistry.book(bunny.getId()), bunnyName, queryCurrentPrice(bunny));
+        });
+    }
 
-        return OrderBookSnapshot.from(bunny, orders, currentPrice);
+    // 호가창 재동기화: 같은 epoch 면 afterSequence 이후 Diff 를 버퍼에서 돌려주고, 불가능하면 전체 스냅샷
+    public OrderBookResync resyncOrderBook(String bunnyName, long epoch, long afterSequence) {
+        OrderBookSnapshot snapshot = getOrderBookSnapshot(bunnyName);
+        return orderBookReplayBuffer.since(bunnyName, epoch, afterSequence, snapshot.epoch(), snapshot.sequence())
+                .map(diffs -> OrderBookResync.ofDiffs(bunnyName, diffs))
+                .orElseGet(() -> OrderBookResync.ofSnapshot(snapshot));
     }
 
     // AI 응답 동기화
@@ -479,41 +601,49 @@ public class BunnyService {
         return BadgeHolderListResponse.from(badgeImg, bunnies);
     }
 
-    private List<ComparisonData> getCompetitors(Bunny myBunny) {
-        List<Bunny> rankedBunnies = bunnyRepository.findAllWithUserOrderByMarketCapDesc();
-        int myRankIndex = findRankIndex(rankedBunnies, myBunny.getId());
+    // 시가총액 순 목록: 페이지 범위의 id 만 순위 ZSET 에서 꺼내고 해당 버니만 조회
+    private Page<Bunny> getBunniesByMarketCap(Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return bunnyRepository.findAllByOrderByMarketCapDesc(pageable);
+        }
 
-        // 내 버니를 찾지 못했거나, 경쟁할 대상이 없으면 빈 리스트 반환
-        if (myRankIndex == -1 || rankedBunnies.size() <= 1) {
-            return Collections.emptyList();
+        List<MarketCapRanking.Ranked> ranked = marketCapRanking.top(pageable.getOffset(), pageable.getPageSize());
+        if (ranked.isEmpty()) {
+            return new PageImpl<>(Collections.emptyList(), pageable, marketCapRanking.size());
         }
 
-        List<ComparisonData> competitors = new ArrayList<>();
+        Map<String, Bunny> byId = bunnyRepository.findAllById(ranked.stream().map(MarketCapRanking.Ranked::bunnyId).toList())
+                .stream()
+                .collect(Collectors.toMap(Bunny::getId, b -> b));
+        List<Bunny> content = ranked.stream()
+                .map(r -> byId.get(r.bunnyId()))
+                .filter(Objects::nonNull)
+                .toList();
+        return new PageImpl<>(content, pageable, marketCapRanking.size());
+    }
 
-        // 바로 위 경쟁자
-        if (myRankIndex > 0) {
-            competitors.add(toComparisonData(rankedBunnies, myRankIndex - 1));
-        }
-        // 바로 아래 경쟁자
-        if (myRankIndex < rankedBunnies.size() - 1) {
-            competitors.add(toComparisonData(rankedBunnies, myRankIndex + 1));
+    private List<ComparisonData> getCompetitors(Bunny myBunny) {
+        // 바로 위/아래 경쟁자 (순위에 없거나 경쟁할 대상이 없으면 빈 리스트)
+        List<MarketCapRanking.Ranked> neighbours = marketCapRanking.neighbours(myBunny.getId());
+        if (neighbours.isEmpty()) {
+            return Collections.emptyList();
         }
 
-        return competitors;
-    }
+        Map<String, Bunny> byId = bunnyRepository.findAllWithUserByIdIn(neighbours.stream().map(MarketCapRanking.Ranked::bunnyId).toList())
+                .stream()
+                .collect(Collectors.toMap(Bunny::getId, b -> b));
 
-    private int findRankIndex(List<Bunny> rankedBunnies, String myBunnyId) {
-        for (int i = 0; i < rankedBunnies.size(); i++) {
-            if (Objects.equals(rankedBunnies.get(i).getId(), myBunnyId)) {
-                return i;
+        List<ComparisonData> competitors = new ArrayList<>(neighbours.size());
+        for (MarketCapRanking.Ranked neighbour : neighbours) {
+            Bunny competitor = byId.get(neighbour.bunnyId());
+            if (competitor != null) {
+                competitors.add(toComparisonData(competitor, neighbour.rank()));
             }
         }
-        return -1;
+        return competitors;
     }
 
-    private static ComparisonData toComparisonData(List<Bunny> rankedBunnies, int index) {
-        Bunny competitor = rankedBunnies.get(index);
-
+    private static ComparisonData toComparisonData(Bunny competitor, long rank) {
         // 성장률 = (현재가 - 종가) / 종가 * 100
         BigDecimal growthRate = calculateGrowthRate(competitor);
         String userImage = (competitor.getUser() != null) ? competitor.getUser().getImage() : null;
@@ -522,7 +652,7 @@ public class BunnyService {
                 .bunnyId(competitor.getId())
                 .bunnyName(competitor.getBunnyName())
                 .userImage(userImage)
-                .rank(index + 1) // 1-based rank
+                .rank((int) rank) // 1-based rank
                 .marketCap(competitor.getMarketCap())
                 .growthRate(growthRate)
                 .build();
@@ -645,7 +775,7 @@ public class BunnyService {
                 .setScale(2, RoundingMode.HALF_UP);
     }
 
-    private void validateBuy(OrderRequest request, PersonalUser user) {
+    private void validateBuy(OrderRequest request, BigDecimal currentCarrot) {
         if (request.quantity() == null || request.quantity().signum() <= 0) {
             throw new BunnyException(BunnyError.INVALID_QUANTITY);
         }
@@ -654,11 +784,11 @@ public class BunnyService {
             throw new BunnyException(BunnyError.INVALID_PRICE);
         }
 
-        // 총 예약금
+        // 총 예약금 (매칭 경로의 long 연산 범위 검증 포함)
+        validateAmountRange(request);
         BigDecimal reserved = MoneyCalc.buyerReservation(request.quantity(), request.unitPrice());
 
         // 유저의 현재 보유 캐럿
-        BigDecimal currentCarrot = user.getCarrot();
         if (currentCarrot == null || currentCarrot.signum() <= 0) throw new BunnyException(BunnyError.INSUFFICIENT_BALANCE);
         if (currentCarrot.compareTo(reserved) < 0) throw new BunnyException(BunnyError.INSUFFICIENT_BALANCE);
     }
@@ -668,21 +798,25 @@ public class BunnyService {
             throw new BunnyException(BunnyError.INVALID_QUANTITY);
         }
 
-        BigDecimal holding = holdBunnyRepository.findByHolderAndBunnyForUpdate(user, bunny)
+        validateAmountRange(request);
+
+        BigDecimal holding = holdBunnyRepository.findByHolderAndBunny(user, bunny)
                 .map(HoldBunny::getHoldQuantity)
                 .orElse(BigDecimal.ZERO);
 
         if (holding.compareTo(request.quantity()) < 0) throw new BunnyException(BunnyError.INSUFFICIENT_HOLDING);
     }
 
-    private List<OrderBookAssembler.OrderLeaf> toLeaves(List<Order> orders) {
-        List<OrderBookAssembler.OrderLeaf> out = new ArrayList<>(orders.size());
-        for (Order order : orders) {
-            if (order.getQuantity().signum() > 0) {
-                out.add(new OrderBookAssembler.OrderLeaf(order.getUnitPrice(), order.getQuantity(), order.getOrderType()));
-            }
+    // 매칭 엔진은 long 으로 계산하므로 수량 * 단가(+수수료)가 long 범위 안이어야 함
+    private void validateAmountRange(OrderRequest request) {
+        if (request.unitPrice() == null || request.unitPrice().signum() <= 0) {
+            throw new BunnyException(BunnyError.INVALID_PRICE);
+        }
+        try {
+            LongMoney.buyerReservation(LongMoney.toLong(request.quantity()), LongMoney.toLong(request.unitPrice()));
+        } catch (ArithmeticException e) {
+            throw new BunnyException(BunnyError.AMOUNT_OUT_OF_RANGE);
         }
-        return out;
     }
 
     private BigDecimal queryCurrentPrice(Bunny bunny) {
@@ -700,82 +834,91 @@ public class BunnyService {
         return BigDecimal.ZERO;
     }
 
+    // 메모리 호가창에 반영된 이후 값으로 만들기 위해 afterCommit(호가창 반영 다음 순서)에서 Diff 를 구성/발행
     private void emitOrderBookDiff(Bunny bunny, Set<BigDecimal> bidPrices, Set<BigDecimal> askPrices) {
         if ((bidPrices == null || bidPrices.isEmpty()) && (askPrices == null || askPrices.isEmpty())) return;
 
-        // 부분 집계들 (Upserts/Deletes)
-        Set<BigDecimal> allTouchedPrices = new HashSet<>();
-        if (bidPrices != null) allTouchedPrices.addAll(bidPrices);
-        if (askPrices != null) allTouchedPrices.addAll(askPrices);
-        
-        // 모든 주문 타입에 대해 집계
-        List<OrderBookLevel> orderUpserts = new ArrayList<>();
-        for (OrderType type : List.of(OrderType.BUY, OrderType.SELL)) {
-            Set<BigDecimal> typePrices = (type == OrderType.BUY) ? bidPrices : askPrices;
-            if (typePrices != null && !typePrices.isEmpty()) {
-                orderUpserts.addAll(aggregateLevelsForPrices(bunny.getId(), type, typePrices));
-            }
-        }
-
-        // 잔여가 0이면 → delete
-        List<BigDecimal> orderDeletes = new ArrayList<>();
-        Set<BigDecimal> upsertPrices = orderUpserts.stream()
-                .map(lv -> normalizePrice(lv.price()))
-                .collect(Collectors.toSet());
-        
-        orderDeletes.addAll(allTouchedPrices.stream()
-                .map(OrderBookAssembler::normalizePrice)
-                .filter(p -> !upsertPrices.contains(p))
-                .toList());
-
-        BigDecimal currentPrice = queryCurrentPrice(bunny);
+        String bunnyName = bunny.getBunnyName();
+        BigDecimal currentPrice = currentPriceOf(bunny);
+
+        orderBookRegistry.afterCommit(bunny.getId(), book -> {
+            // 레벨 합계에서 바로 upsert / delete 구성 (잔여가 0이면 → delete)
+            List<OrderBookLevel> orderUpserts = new ArrayList<>();
+            List<OrderBookLevel> orderDeleteLevels = new ArrayList<>();
+            collectLevelChanges(book, OrderType.BUY, bidPrices, orderUpserts, orderDeleteLevels);
+            collectLevelChanges(book, OrderType.SELL, askPrices, orderUpserts, orderDeleteLevels);
+
+            // 호가창 버전 증가
+            long prevSequence = book.getSequence();
+            long sequence = book.advanceSequence();
+
+            OrderBookDiff diff = OrderBookDiff.of(
+                    bunnyName,
+                    orderUpserts,
+                    orderDeleteLevels,
+                    currentPrice,
+                    orderBookRegistry.epoch(),
+                    sequence,
+                    prevSequence,
+                    System.currentTimeMillis()
+            );
+
+            // 재전송 버퍼 → 스냅샷 순으로 갱신 (스냅샷 sequence 까지의 Diff 는 항상 버퍼에 존재)
+            orderBookReplayBuffer.append(diff);
+            refreshSnapshot(book, bunnyName, currentPrice);
+            orderBookPublisher.publishDiff(bunnyName, diff);
+        });
+    }
 
-        OrderBookDiff diff = new OrderBookDiff(
-                bunny.getBunnyName(),
-                orderUpserts,
-                orderDeletes,
-                currentPrice,
-                System.currentTimeMillis()
-        );
+    // 담당 노드가 마지막으로 보낸 Diff sequence 를 먼저 읽고 DB 를 조회
+    // (Diff 는 커밋 후에만 발행되므로 DB 상태는 그 sequence 이상으로 최신 → 이후 도착하는 Diff 를 그대로 적용 가능)
+    private OrderBookSnapshot followerSnapshot(String bunnyName) {
+        long sequence = orderMatcherLease.ownerSequence("/topic/bunnies/" + bunnyName + "/orderbook");
+        Bunny bunny = findBunnyByName(bunnyName);
 
-        // 트랜잭션 커밋 이후에만 브로드캐스트
-        publishAfterCommitForOrderBook(bunny.getBunnyName(), diff);
+        OrderBook book = new OrderBook(bunny.getId(), sequence);
+        for (Order order : orderRepository.findAllOpenOrdersByBunnyIdOrderByCreatedAtAsc(bunny.getId())) {
+            book.add(RestingOrder.from(order));
+        }
+        List<OrderBookLevel> orders = orderBookAssembler.toLevel(book.topLevels(snapshotDepth));
+        return OrderBookSnapshot.from(bunnyName, orders, queryCurrentPrice(bunny), orderMatcherLease.ownerEpoch(), sequence);
     }
 
-    private List<OrderBookLevel> aggregateLevelsForPrices(String bunnyId, OrderType side, Set<BigDecimal> prices) {
-        if (prices == null || prices.isEmpty()) return List.of();
+    // 호가창 현재 상태로 스냅샷을 만들어 캐시에 저장 (담당 워커 스레드에서만 호출)
+    private OrderBookSnapshot refreshSnapshot(OrderBook book, String bunnyName, BigDecimal currentPrice) {
+        List<OrderBookLevel> orders = orderBookAssembler.toLevel(book.topLevels(snapshotDepth));
+        OrderBookSnapshot snapshot = OrderBookSnapshot.from(bunnyName, orders, currentPrice, orderBookRegistry.epoch(), book.getSequence());
+        orderBookRegistry.storeSnapshot(snapshot);
+        return snapshot;
+    }
 
-        // 레포에서 잔여 > 0 주문만 가져옴
-        List<Order> rows = orderRepository.findAllByBunnySideAndPriceIn(bunnyId, side, prices);
+    private void collectLevelChanges(OrderBook book, OrderType side, Set<BigDecimal> prices,
+                                     List<OrderBookLevel> upserts, List<OrderBookLevel> deletes) {
+        if (prices == null || prices.isEmpty()) return;
 
-        Map<BigDecimal, BigDecimal> sumByPrice = rows.stream()
-                .collect(Collectors.groupingBy(
-                        o -> normalizePrice(o.getUnitPrice()),
-                        Collectors.mapping(Order::getQuantity, Collectors.reducing(BigDecimal.ZERO, BigDecimal::add))
-                ));
-
-        return sumByPrice.entrySet().stream()
-                .map(e -> new OrderBookLevel(e.getKey(), e.getValue(), side))
-                .sorted(Comparator.comparing(OrderBookLevel::price).reversed())
+        List<BigDecimal> sorted = prices.stream()
+                .map(OrderBookAssembler::normalizePrice)
+                .distinct()
+                .sorted(Comparator.reverseOrder())
                 .toList();
-    }
-
 
-    // 트랜잭션 커밋 후에만 diff 를 publish 한다.
-    // 트랜잭션이 없으면(비동기/스케줄러 등) 즉시 publish 로 폴백.
-    private void publishAfterCommitForOrderBook(String bunnyName, OrderBookDiff diff) {
-        if (TransactionSynchronizationManager.isActualTransactionActive()) {
-            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
-                @Override public void afterCommit() {
-                    orderBookPublisher.publishDiff(bunnyName, diff);
-                }
-            });
-        } else {
-            // 트랜잭션 바깥이면 그냥 즉시 전송
-            orderBookPublisher.publishDiff(bunnyName, diff);
+        for (BigDecimal price : sorted) {
+            long quantity = book.levelQuantity(side, LongMoney.toLong(price));
+            if (quantity > 0) {
+                upserts.add(new OrderBookLevel(price, LongMoney.toBigDecimal(quantity), side));
+            } else {
+                deletes.add(new OrderBookLevel(price, BigDecimal.ZERO, side));
+            }
         }
     }
 
+    // 현재가: 체결 시 Bunny.currentPrice 가 갱신되므로 match 테이블 재조회 없이 사용
+    private static BigDecimal currentPriceOf(Bunny bunny) {
+        if (bunny.getCurrentPrice() != null) return bunny.getCurrentPrice();
+        if (bunny.getClosingPrice() != null) return bunny.getClosingPrice();
+        return BigDecimal.ZERO;
+    }
+
     private void publishAfterCommitForPrice(String bunnyName, BigDecimal currentPrice) {
         if (TransactionSynchronizationManager.isActualTransactionActive()) {
             TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
@@ -0,0 +1,156 @@
+package team.avgmax.rabbit.bunny.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import team.avgmax.rabbit.bunny.dto.response.ChartResponse;
+import team.avgmax.rabbit.bunny.entity.enums.ChartInterval;
+import team.avgmax.rabbit.global.util.UlidGenerator;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 버니 × 차트 구간별 ChartResponse 캐시 (L1 Caffeine, 선택적으로 L2 Redis).
+ * 차트 데이터는 종가 확정(일/주/월)과 봉 마감(분/시간)에만 바뀌므로 TTL 이 아닌 이벤트로 무효화한다.
+ * 무효화는 Redis 채널로 다른 노드의 L1 에도 전파된다.
+ */
+@Slf4j
+@Component
+public class ChartCache implements MessageListener {
+
+    private static final String KEY_PREFIX = "chart:";
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final ObjectMapper objectMapper;
+    private final boolean redisEnabled;
+    private final String channel;
+    private final long ttlSeconds;
+
+    private final String nodeId = UlidGenerator.generate();
+    // bunnyId:interval → 차트 응답
+    private final Cache<String, ChartResponse> local;
+    // 버니 이름 → ID (이름은 바뀌지 않으므로 만료 없음)
+    private final Map<String, String> bunnyIdByName = new ConcurrentHashMap<>();
+
+    public ChartCache(RedisTemplate<String, Object> redisTemplate,
+                      RedisMessageListenerContainer redisMessageListenerContainer,
+                      ObjectMapper objectMapper,
+                      @Value("${app.chart.cache.max-size:20000}") long maxSize,
+                      @Value("${app.chart.cache.ttl-seconds:86400}") long ttlSeconds,
+                      @Value("${app.chart.cache.redis-enabled:false}") boolean redisEnabled,
+                      @Value("${app.chart.cache.channel:chart:invalidate}") String channel) {
+        this.redisTemplate = redisTemplate;
+        this.redisMessageListenerContainer = redisMessageListenerContainer;
+        this.objectMapper = objectMapper;
+        this.redisEnabled = redisEnabled;
+        this.channel = channel;
+        this.ttlSeconds = ttlSeconds;
+        this.local = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))  // 무효화 누락 대비 안전망
+                .build();
+    }
+
+    @PostConstruct
+    public void init() {
+        if (!redisEnabled) return;
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(channel));
+    }
+
+    public String bunnyIdOf(String bunnyName, Supplier<String> loader) {
+        String bunnyId = bunnyIdByName.get(bunnyName);
+        if (bunnyId != null) return bunnyId;
+
+        bunnyId = loader.get();
+        bunnyIdByName.put(bunnyName, bunnyId);
+        return bunnyId;
+    }
+
+    // L1 → L2 → loader(DB) 순서로 조회
+    public ChartResponse get(String bunnyId, ChartInterval interval, Supplier<ChartResponse> loader) {
+        String key = key(bunnyId, interval);
+        return local.get(key, k -> {
+            ChartResponse cached = readRemote(k);
+            if (cached != null) return cached;
+
+            ChartResponse loaded = loader.get();
+            writeRemote(k, loaded);
+            return loaded;
+        });
+    }
+
+    public void evict(Collection<String> bunnyIds, ChartInterval... intervals) {
+        if (bunnyIds.isEmpty()) return;
+
+        List<String> keys = new ArrayList<>(bunnyIds.size() * intervals.length);
+        for (String bunnyId : bunnyIds) {
+            for (ChartInterval interval : intervals) {
+                keys.add(key(bunnyId, interval));
+            }
+        }
+        local.invalidateAll(keys);
+
+        if (!redisEnabled) return;
+        try {
+            redisTemplate.delete(keys.stream().map(k -> KEY_PREFIX + k).toList());
+            redisTemplate.convertAndSend(channel, nodeId + "|" + String.join(",", keys));
+        } catch (Exception e) {
+            // L2 는 TTL 로 만료됨. 다른 노드 L1 도 TTL 까지는 이전 값을 줄 수 있음
+            log.warn("차트 캐시 L2 무효화 실패: keys={}", keys.size(), e);
+        }
+    }
+
+    // 다른 노드에서 보낸 무효화 → L1 만 비움 (L2 는 보낸 노드가 이미 삭제)
+    @Override
+    public void onMessage(@NonNull Message message, @Nullable byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int sep = body.indexOf('|');
+        if (sep < 0 || body.substring(0, sep).equals(nodeId)) return;
+
+        local.invalidateAll(List.of(body.substring(sep + 1).split(",")));
+    }
+
+    private ChartResponse readRemote(String key) {
+        if (!redisEnabled) return null;
+        try {
+            Object json = redisTemplate.opsForValue().get(KEY_PREFIX + key);
+            return (json == null) ? null : objectMapper.readValue(json.toString(), ChartResponse.class);
+        } catch (Exception e) {
+            log.debug("차트 캐시 L2 조회 실패: key={}", key, e);
+            return null;
+        }
+    }
+
+    private void writeRemote(String key, ChartResponse response) {
+        if (!redisEnabled) return;
+        try {
+            redisTemplate.opsForValue().set(KEY_PREFIX + key, objectMapper.writeValueAsString(response), ttlSeconds, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            log.debug("차트 캐시 L2 저장 실패: key={}", key, e);
+        }
+    }
+
+    private static String key(String bunnyId, ChartInterval interval) {
+        return bunnyId + ":" + interval.name();
+    }
+}
@@ -1,67 +1,247 @@
 package team.avgmax.rabbit.bunny.service;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-import org.springframework.transaction.support.TransactionSynchronization;
-import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import team.avgmax.rabbit.bunny.controller.currentPrice.PriceTickPublisher;
 import team.avgmax.rabbit.bunny.dto.currentPrice.ClosingPriceUpdate;
-import team.avgmax.rabbit.bunny.entity.Bunny;
+import team.avgmax.rabbit.bunny.dto.currentPrice.DailyCloseUpdate;
+import team.avgmax.rabbit.bunny.entity.BunnyBar;
 import team.avgmax.rabbit.bunny.entity.BunnyHistory;
+import team.avgmax.rabbit.bunny.entity.BunnyPeriodHistory;
+import team.avgmax.rabbit.bunny.entity.enums.BarInterval;
+import team.avgmax.rabbit.bunny.entity.enums.ChartInterval;
+import team.avgmax.rabbit.bunny.entity.enums.HistoryPeriod;
+import team.avgmax.rabbit.bunny.repository.BunnyBarRepository;
 import team.avgmax.rabbit.bunny.repository.BunnyHistoryRepository;
-import team.avgmax.rabbit.bunny.repository.BunnyRepository;
-import team.avgmax.rabbit.bunny.repository.MatchRepository;
+import team.avgmax.rabbit.bunny.repository.BunnyPeriodHistoryRepository;
+import team.avgmax.rabbit.bunny.repository.custom.BunnyBarBatchRepository;
+import team.avgmax.rabbit.bunny.repository.custom.DailyCloseRepository;
+import team.avgmax.rabbit.bunny.repository.custom.DailyCloseRepository.OpenQuantity;
+import team.avgmax.rabbit.bunny.repository.custom.DailyCloseRepository.Target;
+import team.avgmax.rabbit.bunny.service.bar.BarBuilder;
+import team.avgmax.rabbit.bunny.service.match.OrderMatcherLease;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+/**
+ * 자정 종가 확정 + 전일 BunnyHistory 적재를 한 번에 처리한다.
+ * 전일 일봉 조회(체결 시점에 누적된 BunnyBar, 누락 가능성이 있으면 match 재집계) → 청크 단위 JDBC batch upsert(일/주/월) → 지표 갱신 → 종가 1회 broadcast
+ */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class ClosingPriceService {
 
-    private final BunnyRepository bunnyRepository;
+    private final DailyCloseRepository dailyCloseRepository;
+    private final BunnyBarRepository bunnyBarRepository;
+    private final BunnyBarBatchRepository bunnyBarBatchRepository;
+    private final BarBuilder barBuilder;
+    private final OrderMatcherLease orderMatcherLease;
     private final BunnyHistoryRepository bunnyHistoryRepository;
+    private final BunnyPeriodHistoryRepository bunnyPeriodHistoryRepository;
+    private final BunnyIndicatorService bunnyIndicatorService;
+    private final ChartCache chartCache;
+    private final MarketCapRanking marketCapRanking;
     private final PriceTickPublisher priceTickPublisher;
-    private final MatchRepository matchRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final RedisTemplate<String, Object> redisTemplate;
 
-    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    private static final ZoneId KST = BarInterval.ZONE;
+    private static final int CHUNK_SIZE = 500; // 한 트랜잭션에서 기록할 버니 수
+    private static final int BACKFILL_PAGE_SIZE = 100; // 초기 적재 시 한 번에 읽을 버니 수
+    private static final String BACKFILL_DONE_KEY = "bunny_period_backfill:done";
+    private static final String BACKFILL_LOCK_KEY = "bunny_period_backfill:lock";
+    private static final Duration BACKFILL_LOCK_TTL = Duration.ofMinutes(30);
+
+    // 주봉/월봉 초기 적재: 기동을 막지 않도록 준비 완료 후 별도 스레드에서 실행
+    @EventListener(ApplicationReadyEvent.class)
+    public void scheduleBackfill() {
+        Thread thread = new Thread(this::backfillPeriodHistories, "period-backfill");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // 완료 표시가 없을 때 한 노드만(잠금) BunnyHistory 를 버니 단위 페이지로 읽어 주봉/월봉을 채움. upsert 라 중간에 끊겨도 다시 돌리면 됨
+    public void backfillPeriodHistories() {
+        try {
+            if (Boolean.TRUE.equals(redisTemplate.hasKey(BACKFILL_DONE_KEY))) return;
+            Boolean locked = redisTemplate.opsForValue().setIfAbsent(BACKFILL_LOCK_KEY, "1", BACKFILL_LOCK_TTL);
+            if (!Boolean.TRUE.equals(locked)) return;
+        } catch (Exception e) {
+            log.warn("주봉/월봉 초기 적재 건너뜀 (Redis 확인 실패)", e);
+            return;
+        }
+
+        try {
+            int histories = 0;
+            int rollups = 0;
+            String after = "";
+            while (true) {
+                List<String> bunnyIds = bunnyHistoryRepository.findBunnyIdsAfter(after, PageRequest.of(0, BACKFILL_PAGE_SIZE));
+                if (bunnyIds.isEmpty()) break;
+
+                List<BunnyHistory> page = bunnyHistoryRepository.findAllByBunnyIdInOrderByBunnyIdAscDateAsc(bunnyIds);
+                List<BunnyPeriodHistory> pageRollups = rollupAll(page);
+                for (int i = 0; i < pageRollups.size(); i += CHUNK_SIZE) {
+                    dailyCloseRepository.upsertPeriodHistories(pageRollups.subList(i, Math.min(i + CHUNK_SIZE, pageRollups.size())));
+                }
+                histories += page.size();
+                rollups += pageRollups.size();
+                after = bunnyIds.get(bunnyIds.size() - 1);
+            }
+            redisTemplate.opsForValue().set(BACKFILL_DONE_KEY, "1");
+            log.info("주봉/월봉 초기 적재: histories={}, rollups={}", histories, rollups);
+        } catch (Exception e) {
+            log.error("주봉/월봉 초기 적재 실패 (다음 기동 시 재시도)", e);
+        } finally {
+            redisTemplate.delete(BACKFILL_LOCK_KEY);
+        }
+    }
+
+    // bunnyId, date 순으로 정렬된 일봉을 주/월 단위로 묶음
+    private static List<BunnyPeriodHistory> rollupAll(List<BunnyHistory> days) {
+        List<BunnyPeriodHistory> rollups = new ArrayList<>();
+        for (HistoryPeriod period : HistoryPeriod.values()) {
+            BunnyPeriodHistory current = null;
+            for (BunnyHistory day : days) {
+                if (current != null && !current.getBunnyId().equals(day.getBunnyId())) {
+                    rollups.add(current);
+                    current = null;
+                }
+                BunnyPeriodHistory next = BunnyPeriodHistory.rollup(period, current, day);
+                if (next == null) continue;
+                if (current != null && !next.getPeriodStart().equals(current.getPeriodStart())) {
+                    rollups.add(current);
+                }
+                current = next;
+            }
+            if (current != null) rollups.add(current);
+        }
+        return rollups;
+    }
 
-    @Transactional
     public void rollAndBroadcastDailyClose() {
         // 00:01(KST)에 호출 됨
-        final var targetDate = java.time.LocalDate.now(KST).minusDays(1);
+        final LocalDate targetDate = LocalDate.now(KST).minusDays(1);
+
+        final List<Target> targets = dailyCloseRepository.findTargets();
+        if (targets.isEmpty()) return;
 
-        List<Bunny> all = bunnyRepository.findAll();
-        for (Bunny bunny : all) {
-            BigDecimal closingPrice = computeCloseFor(bunny);
-            bunny.updateClosingPrice(closingPrice);
+        // 전일 일봉 / 자정 시점 오픈 잔량 (각각 1회 조회). 닫힌 일봉이 아직 기록 전일 수 있으므로 먼저 flush
+        barBuilder.flush();
+        final Map<String, BunnyBar> traded = dayBars(targetDate.atStartOfDay())
+                .stream()
+                .collect(Collectors.toMap(BunnyBar::getBunnyId, Function.identity()));
+        final Map<String, OpenQuantity> openQuantities = dailyCloseRepository.sumOpenQuantityByBunny();
 
-            // 전일자 히스토리 적재
-            bunnyHistoryRepository.save(BunnyHistory.of(bunny.getId(), targetDate, closingPrice));
+        final List<BunnyHistory> histories = new ArrayList<>(targets.size());
+        final List<ClosingPriceUpdate> closes = new ArrayList<>(targets.size());
+        for (Target target : targets) {
+            BunnyBar bar = traded.get(target.bunnyId());
+            BunnyHistory history = (bar != null)
+                    ? tradedHistory(target, bar, openQuantities.getOrDefault(target.bunnyId(), OpenQuantity.ZERO), targetDate)
+                    : BunnyHistory.of(target.bunnyId(), targetDate, fallbackClose(target));
+            histories.add(history);
+            closes.add(new ClosingPriceUpdate(target.bunnyName(), history.getClosingPrice(), targetDate));
         }
 
-        // 커밋 후에만 WS 발행 (전일 종가 broadcast 1회)
-        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
-            @Override public void afterCommit() {
-                for (Bunny bunny : all) {
-                    priceTickPublisher.publishClose(new ClosingPriceUpdate(
-                            bunny.getBunnyName(),
-                            bunny.getClosingPrice(),
-                            targetDate
-                    ));
-                }
+        // 청크마다 BunnyHistory upsert + Bunny.closingPrice 갱신 + 주봉/월봉 롤업 + 지표 누적 상태를 한 트랜잭션으로
+        for (int i = 0; i < histories.size(); i += CHUNK_SIZE) {
+            List<BunnyHistory> chunk = histories.subList(i, Math.min(i + CHUNK_SIZE, histories.size()));
+            transactionTemplate.executeWithoutResult(status -> {
+                dailyCloseRepository.upsertHistories(chunk);
+                dailyCloseRepository.updateClosingPrices(chunk);
+                dailyCloseRepository.upsertPeriodHistories(rollup(chunk, targetDate));
+                bunnyIndicatorService.recordDailyHistories(chunk);
+            });
+        }
+
+        // 일/주/월봉 차트 캐시 무효화
+        chartCache.evict(histories.stream().map(BunnyHistory::getBunnyId).toList(),
+                ChartInterval.DAILY, ChartInterval.WEEKLY, ChartInterval.MONTHLY);
+
+        // 체결이 있었던 버니만 히스토리 기반 지표 재계산 (누적 상태만 읽음)
+        bunnyIndicatorService.refreshHistoryIndicators(traded.keySet());
+
+        // 전일 종가 broadcast 1회
+        priceTickPublisher.publishDailyClose(new DailyCloseUpdate(targetDate, closes));
+
+        // 시가총액 순위/합계를 DB 기준으로 다시 맞추고 RABBIT 지수 전송
+        marketCapRanking.rebuild();
+        log.info("일일 종가 확정: date={}, bunnies={}, traded={}", targetDate, histories.size(), traded.size());
+    }
+
+    // 전일 내내 이 노드가 매칭을 담당했으면 체결마다 누적한 일봉을 그대로 사용
+    // 그 사이 재기동(비정상 종료 포함)이나 담당 변경이 있었으면 일봉이 없거나 일부만 남았을 수 있으므로 match 에서 다시 집계해 덮어씀
+    private List<BunnyBar> dayBars(LocalDateTime dayStart) {
+        if (orderMatcherLease.ownedContinuouslySince(dayStart)) {
+            return bunnyBarRepository.findAllByBarIntervalAndOpenTime(BarInterval.DAY, dayStart);
+        }
+        List<BunnyBar> bars = dailyCloseRepository.aggregateDayBars(dayStart);
+        bunnyBarBatchRepository.upsert(bars);
+        log.info("전일 일봉 match 재집계: date={}, bunnies={}", dayStart.toLocalDate(), bars.size());
+        return bars;
+    }
+
+    // 청크의 하루치 히스토리를 해당 주/월 롤업 행에 누적 (기존 행은 기간별 1회 조회)
+    private List<BunnyPeriodHistory> rollup(List<BunnyHistory> days, LocalDate targetDate) {
+        List<String> bunnyIds = days.stream().map(BunnyHistory::getBunnyId).toList();
+        List<BunnyPeriodHistory> rollups = new ArrayList<>(days.size() * HistoryPeriod.values().length);
+        for (HistoryPeriod period : HistoryPeriod.values()) {
+            Map<String, BunnyPeriodHistory> existing = bunnyPeriodHistoryRepository
+                    .findAllByPeriodAndPeriodStartAndBunnyIdIn(period, period.start(targetDate), bunnyIds)
+                    .stream()
+                    .collect(Collectors.toMap(BunnyPeriodHistory::getBunnyId, Function.identity()));
+            for (BunnyHistory day : days) {
+                BunnyPeriodHistory next = BunnyPeriodHistory.rollup(period, existing.get(day.getBunnyId()), day);
+                if (next != null) rollups.add(next);
             }
-        });
+        }
+        return rollups;
+    }
+
+    private BunnyHistory tradedHistory(Target target, BunnyBar bar, OpenQuantity open, LocalDate targetDate) {
+        final BigDecimal closingPrice = bar.getClosePrice();
+        final BigDecimal tradeQuantity = bar.getVolume();
+
+        // 시가총액 = 종가 * 발행량
+        final BigDecimal totalSupply =
+                (target.bunnyType() != null && target.bunnyType().getTotalSupply() != null)
+                        ? target.bunnyType().getTotalSupply()
+                        : BigDecimal.ZERO;
+
+        return BunnyHistory.builder()
+                .date(targetDate)
+                .bunnyId(target.bunnyId())
+                .closingPrice(closingPrice)
+                .highPrice(bar.getHighPrice())
+                .lowPrice(bar.getLowPrice())
+                .buyQuantity(tradeQuantity.add(open.buy()))    // 총 매수 주문량
+                .sellQuantity(tradeQuantity.add(open.sell()))  // 총 매도 주문량
+                .tradeQuantity(tradeQuantity)
+                .marketCap(closingPrice.multiply(totalSupply))
+                .build();
     }
 
-    private BigDecimal computeCloseFor(Bunny bunny) {
-        // 마지막 체결가 → 현재가 → 직전 종가 → 0 순서로 폴백
-        BigDecimal lastTrade = matchRepository.findLastTradePriceByBunnyId(bunny.getId());
-        if (lastTrade != null) return lastTrade;
-        if (bunny.getCurrentPrice() != null) return bunny.getCurrentPrice();
-        if (bunny.getClosingPrice() != null) return bunny.getClosingPrice();
+    private BigDecimal fallbackClose(Target target) {
+        // 전일 체결이 없으면 현재가(마지막 체결가) → 직전 종가 → 0 순서로 폴백
+        if (target.currentPrice() != null) return target.currentPrice();
+        if (target.closingPrice() != null) return target.closingPrice();
         return BigDecimal.ZERO;
     }
 }
@@ -0,0 +1,66 @@
+package team.avgmax.rabbit.bunny.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 지표(신뢰도/가치/인기) 재계산 요청을 버니 단위로 모아 주기마다 한 번만 처리한다.
+ * 체결·좋아요 동기화·프로필 수정은 요청만 남기고 바로 반환하므로 주문 트랜잭션이 점수 계산을 기다리지 않는다.
+ * 같은 주기 안의 요청은 Set 에서 하나로 합쳐진다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IndicatorRecomputeQueue {
+
+    private final BunnyIndicatorService bunnyIndicatorService;
+
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    // 트랜잭션 안이면 커밋 후 등록 (롤백된 변경으로 재계산하지 않도록)
+    public void request(String bunnyId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            pending.add(bunnyId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override public void afterCommit() {
+                pending.add(bunnyId);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.indicator.recompute-interval-ms:5000}")
+    public void drain() {
+        if (pending.isEmpty()) return;
+
+        List<String> bunnyIds = new ArrayList<>(pending.size());
+        for (String bunnyId : pending) {
+            if (pending.remove(bunnyId)) bunnyIds.add(bunnyId);
+        }
+        if (bunnyIds.isEmpty()) return;
+
+        try {
+            bunnyIndicatorService.recompute(bunnyIds);
+        } catch (Exception e) {
+            // 다음 주기에 다시 시도
+            pending.addAll(bunnyIds);
+            log.warn("지표 재계산 실패: bunnies={}", bunnyIds.size(), e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        drain();
+    }
+}
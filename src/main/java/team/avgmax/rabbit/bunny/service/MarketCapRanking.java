@@ -0,0 +1,179 @@
+package team.avgmax.rabbit.bunny.service;
+
+import com.querydsl.core.Tuple;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import team.avgmax.rabbit.bunny.controller.currentPrice.PriceTickPublisher;
+import team.avgmax.rabbit.bunny.dto.response.RabbitIndexResponse;
+import team.avgmax.rabbit.bunny.repository.BunnyRepository;
+import team.avgmax.rabbit.global.util.UlidGenerator;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 시가총액 순위 (Redis sorted set, score = 시가총액) + 전체 시가총액 합.
+ * 현재가/시가총액이 바뀔 때마다 커밋 후 갱신하므로 순위·이웃·상위 N 조회가 전체 정렬 없이 O(log n) 이다.
+ * 합계는 score 변경분(delta)만 더해 유지하고, 갱신될 때마다 RABBIT 지수를 /topic/rabbit-index 로 보낸다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MarketCapRanking {
+
+    private static final String RANKING_KEY = "bunny_market_cap";
+    private static final String SUM_KEY = "bunny_market_cap_sum";
+
+    // 이전 score 와의 차이만큼 합계를 보정 (ZADD 와 원자적으로). 반환: {합계, 버니 수}
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> UPDATE_SCRIPT = new DefaultRedisScript<>(
+            "local old = redis.call('ZSCORE', KEYS[1], ARGV[1]) " +
+            "redis.call('ZADD', KEYS[1], ARGV[2], ARGV[1]) " +
+            "local sum = redis.call('INCRBYFLOAT', KEYS[2], tonumber(ARGV[2]) - (tonumber(old) or 0)) " +
+            "return {sum, redis.call('ZCARD', KEYS[1])}",
+            List.class);
+
+    // 임시 키를 순위/합계 키로 원자적으로 교체 (교체 사이에 들어온 갱신이 한쪽에만 반영되지 않도록)
+    private static final RedisScript<Long> SWAP_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('RENAME', KEYS[1], KEYS[2]) " +
+            "redis.call('RENAME', KEYS[3], KEYS[4]) " +
+            "return redis.call('ZCARD', KEYS[2])",
+            Long.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final BunnyRepository bunnyRepository;
+    private final PriceTickPublisher priceTickPublisher;
+
+    public record Ranked(String bunnyId, long rank) {} // rank 는 1부터
+
+    // 기동 시 / 자정 종가 확정 후 DB 기준으로 순위와 합계를 다시 씀 (누적 오차 보정, 삭제된 버니 제거)
+    @PostConstruct
+    public void rebuild() {
+        Set<TypedTuple<Object>> tuples = new HashSet<>();
+        BigDecimal sum = BigDecimal.ZERO;
+        for (Tuple row : bunnyRepository.findAllIdAndMarketCap()) {
+            BigDecimal marketCap = row.get(1, BigDecimal.class);
+            tuples.add(new DefaultTypedTuple<>(row.get(0, String.class), score(marketCap)));
+            if (marketCap != null) sum = sum.add(marketCap);
+        }
+
+        // 임시 키에 새로 만든 뒤 교체 → 기존 키에 남아 있던 삭제된 버니도 함께 사라짐 (노드별 임시 키라 동시 재구성과 섞이지 않음)
+        String suffix = ":rebuild:" + UlidGenerator.generate();
+        List<String> rebuildKeys = List.of(RANKING_KEY + suffix, SUM_KEY + suffix);
+        try {
+            if (tuples.isEmpty()) {
+                redisTemplate.delete(List.of(RANKING_KEY, SUM_KEY));
+                return;
+            }
+            redisTemplate.opsForZSet().add(rebuildKeys.get(0), tuples);
+            redisTemplate.opsForValue().set(rebuildKeys.get(1), sum.toPlainString());
+            redisTemplate.execute(SWAP_SCRIPT, List.of(rebuildKeys.get(0), RANKING_KEY, rebuildKeys.get(1), SUM_KEY));
+            log.info("시가총액 순위 재구성 완료: bunnies={}", tuples.size());
+        } catch (Exception e) {
+            log.warn("시가총액 순위 재구성 실패", e);
+            deleteQuietly(rebuildKeys);
+            return;
+        }
+        priceTickPublisher.publishRabbitIndex(RabbitIndexResponse.of(sum, tuples.size()));
+    }
+
+    // 트랜잭션 안이면 커밋 후 반영 (롤백된 시가총액이 순위에 남지 않도록)
+    public void update(String bunnyId, BigDecimal marketCap) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(bunnyId, marketCap);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override public void afterCommit() {
+                apply(bunnyId, marketCap);
+            }
+        });
+    }
+
+    public Optional<Long> rankOf(String bunnyId) {
+        Long index = redisTemplate.opsForZSet().reverseRank(RANKING_KEY, bunnyId);
+        return Optional.ofNullable(index).map(i -> i + 1);
+    }
+
+    // 바로 위/아래 순위 버니 (자기 자신 제외)
+    public List<Ranked> neighbours(String bunnyId) {
+        Long index = redisTemplate.opsForZSet().reverseRank(RANKING_KEY, bunnyId);
+        if (index == null) return Collections.emptyList();
+
+        long from = Math.max(0, index - 1);
+        return range(from, index + 1).stream()
+                .filter(r -> !r.bunnyId().equals(bunnyId))
+                .toList();
+    }
+
+    public List<Ranked> top(long offset, int count) {
+        if (count <= 0) return Collections.emptyList();
+        return range(offset, offset + count - 1);
+    }
+
+    public RabbitIndexResponse rabbitIndex() {
+        Object sum = redisTemplate.opsForValue().get(SUM_KEY);
+        return RabbitIndexResponse.of((sum != null) ? new BigDecimal(sum.toString()) : BigDecimal.ZERO, size());
+    }
+
+    public long size() {
+        Long size = redisTemplate.opsForZSet().zCard(RANKING_KEY);
+        return (size != null) ? size : 0L;
+    }
+
+    private List<Ranked> range(long start, long end) {
+        Set<Object> ids = redisTemplate.opsForZSet().reverseRange(RANKING_KEY, start, end);
+        if (ids == null) return Collections.emptyList();
+
+        List<Ranked> ranked = new ArrayList<>(ids.size());
+        long rank = start + 1;
+        for (Object id : ids) {
+            ranked.add(new Ranked(id.toString(), rank++));
+        }
+        return ranked;
+    }
+
+    private void apply(String bunnyId, BigDecimal marketCap) {
+        List<?> result;
+        try {
+            result = redisTemplate.execute(UPDATE_SCRIPT, List.of(RANKING_KEY, SUM_KEY),
+                    bunnyId, (marketCap != null) ? marketCap.toPlainString() : "0");
+        } catch (Exception e) {
+            // 다음 체결 또는 재구성 시 다시 맞춰짐
+            log.warn("시가총액 순위 갱신 실패: bunnyId={}", bunnyId, e);
+            return;
+        }
+        if (result == null || result.size() != 2) return;
+
+        BigDecimal sum = new BigDecimal(result.get(0).toString());
+        long count = ((Number) result.get(1)).longValue();
+        priceTickPublisher.publishRabbitIndex(RabbitIndexResponse.of(sum, count));
+    }
+
+    // 교체 전에 실패한 임시 키 정리 (Redis 장애 중이면 그대로 둠)
+    private void deleteQuietly(List<String> keys) {
+        try {
+            redisTemplate.delete(keys);
+        } catch (Exception e) {
+            log.debug("시가총액 재구성 임시 키 정리 실패: keys={}", keys, e);
+        }
+    }
+
+    private static double score(BigDecimal marketCap) {
+        return (marketCap != null) ? marketCap.doubleValue() : 0.0;
+    }
+}
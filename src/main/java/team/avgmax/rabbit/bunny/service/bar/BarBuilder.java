@@ -0,0 +1,166 @@
+package team.avgmax.rabbit.bunny.service.bar;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import team.avgmax.rabbit.bunny.entity.BunnyBar;
+import team.avgmax.rabbit.bunny.entity.enums.BarInterval;
+import team.avgmax.rabbit.bunny.entity.enums.ChartInterval;
+import team.avgmax.rabbit.bunny.repository.BunnyBarRepository;
+import team.avgmax.rabbit.bunny.repository.custom.BunnyBarBatchRepository;
+import team.avgmax.rabbit.bunny.service.ChartCache;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * 체결마다 버니별 1분 / 1시간 / 1일 봉을 메모리에서 갱신하고, 버킷이 닫히면 DB 에 기록한다.
+ * 체결 시점에 바로 누적하므로 일일 집계는 match 테이블 스캔 없이 닫힌 일봉을 읽기만 하면 된다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BarBuilder {
+
+    private static final BarInterval[] INTERVALS = BarInterval.values();
+
+    private final BunnyBarRepository bunnyBarRepository;
+    private final BunnyBarBatchRepository bunnyBarBatchRepository;
+    private final ChartCache chartCache;
+
+    // 버니 ID → 단위별 진행 중 봉 (배열 자체를 버니별 락으로 사용)
+    private final Map<String, OpenBar[]> openBars = new ConcurrentHashMap<>();
+    // 버킷이 닫혀 기록 대기 중인 봉
+    private final Queue<OpenBar> closedBars = new ConcurrentLinkedQueue<>();
+
+    // 재시작 전(또는 이전 매칭 담당 노드가) 기록한 현재 버킷 봉을 이어받음
+    @PostConstruct
+    public synchronized void restore() {
+        openBars.clear();
+        LocalDateTime now = BarInterval.now();
+        int restored = 0;
+        for (BarInterval interval : INTERVALS) {
+            for (BunnyBar bar : bunnyBarRepository.findAllByBarIntervalAndOpenTime(interval, interval.bucketStart(now))) {
+                barsOf(bar.getBunnyId())[interval.ordinal()] = OpenBar.from(bar);
+                restored++;
+            }
+        }
+        log.info("진행 중 봉 복원: count={}", restored);
+    }
+
+    // 커밋된 체결 1건 반영 (해당 버니 시퀀서 워커의 afterCommit 에서 호출)
+    public void onFill(String bunnyId, long price, long quantity, LocalDateTime at) {
+        OpenBar[] bars = barsOf(bunnyId);
+        synchronized (bars) {
+            for (BarInterval interval : INTERVALS) {
+                int i = interval.ordinal();
+                LocalDateTime bucket = interval.bucketStart(at);
+                if (bars[i] != null && !bars[i].getOpenTime().equals(bucket)) {
+                    closedBars.add(bars[i]);
+                    bars[i] = null;
+                }
+                if (bars[i] == null) {
+                    bars[i] = new OpenBar(bunnyId, interval, bucket, price);
+                }
+                bars[i].add(price, quantity);
+            }
+        }
+    }
+
+    // 아직 기록되지 않은 진행 중 봉 (차트 최신 봉용)
+    public Optional<BunnyBar> current(String bunnyId, BarInterval interval) {
+        OpenBar[] bars = openBars.get(bunnyId);
+        if (bars == null) return Optional.empty();
+        synchronized (bars) {
+            OpenBar bar = bars[interval.ordinal()];
+            return (bar == null || bar.isExpired(BarInterval.now())) ? Optional.empty() : Optional.of(bar.toEntity());
+        }
+    }
+
+    // 체결이 없어도 버킷 시간이 지난 봉은 닫아서 기록
+    @Scheduled(fixedDelayString = "${app.bar.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        LocalDateTime now = BarInterval.now();
+        for (OpenBar[] bars : openBars.values()) {
+            synchronized (bars) {
+                for (int i = 0; i < bars.length; i++) {
+                    if (bars[i] != null && bars[i].isExpired(now)) {
+                        closedBars.add(bars[i]);
+                        bars[i] = null;
+                    }
+                }
+            }
+        }
+        persist(drainClosed());
+    }
+
+    // 매칭 담당을 넘겨준 경우: 진행 중 봉을 버림 (새 담당 노드가 같은 버킷을 기록하므로 덮어쓰지 않도록)
+    public synchronized void discardOpenBars() {
+        openBars.clear();
+    }
+
+    // 종료 시 진행 중 봉까지 기록 (재시작 후 restore 로 이어서 누적)
+    @PreDestroy
+    public synchronized void shutdown() {
+        List<BunnyBar> bars = drainClosed();
+        for (OpenBar[] open : openBars.values()) {
+            synchronized (open) {
+                for (OpenBar bar : open) {
+                    if (bar != null) bars.add(bar.toEntity());
+                }
+            }
+        }
+        persist(bars);
+    }
+
+    // 새로 기록된 분봉/시간봉이 있는 버니의 차트 캐시 무효화
+    private void evictCharts(List<BunnyBar> bars) {
+        Set<String> minute = new HashSet<>();
+        Set<String> hour = new HashSet<>();
+        for (BunnyBar bar : bars) {
+            if (bar.getBarInterval() == BarInterval.MINUTE) minute.add(bar.getBunnyId());
+            else if (bar.getBarInterval() == BarInterval.HOUR) hour.add(bar.getBunnyId());
+        }
+        chartCache.evict(minute, ChartInterval.MINUTE);
+        chartCache.evict(hour, ChartInterval.HOURLY);
+    }
+
+    private OpenBar[] barsOf(String bunnyId) {
+        return openBars.computeIfAbsent(bunnyId, k -> new OpenBar[INTERVALS.length]);
+    }
+
+    private List<BunnyBar> drainClosed() {
+        List<BunnyBar> bars = new ArrayList<>();
+        OpenBar bar;
+        while ((bar = closedBars.poll()) != null) {
+            bars.add(bar.toEntity());
+        }
+        return bars;
+    }
+
+    private void persist(List<BunnyBar> bars) {
+        if (bars.isEmpty()) return;
+        try {
+            bunnyBarBatchRepository.upsert(bars);
+            log.debug("봉 기록: count={}", bars.size());
+            evictCharts(bars);
+        } catch (Exception e) {
+            // 다음 주기에 다시 시도 (upsert 라 중복 기록돼도 무방)
+            log.warn("봉 기록 실패, 재시도 예정: count={}", bars.size(), e);
+            for (BunnyBar failed : bars) {
+                closedBars.add(OpenBar.from(failed));
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package team.avgmax.rabbit.bunny.service.bar;
+
+import lombok.Getter;
+import team.avgmax.rabbit.bunny.entity.BunnyBar;
+import team.avgmax.rabbit.bunny.entity.enums.BarInterval;
+import team.avgmax.rabbit.global.money.LongMoney;
+
+import java.time.LocalDateTime;
+
+// 진행 중인 봉 (가격/수량은 long). BarBuilder 의 버니별 락 안에서만 갱신
+@Getter
+class OpenBar {
+
+    private final String bunnyId;
+    private final BarInterval interval;
+    private final LocalDateTime openTime;
+
+    private long open;
+    private long high;
+    private long low;
+    private long close;
+    private long volume;
+    private long tradeCount;
+
+    OpenBar(String bunnyId, BarInterval interval, LocalDateTime openTime, long firstPrice) {
+        this.bunnyId = bunnyId;
+        this.interval = interval;
+        this.openTime = openTime;
+        this.open = firstPrice;
+        this.high = firstPrice;
+        this.low = firstPrice;
+        this.close = firstPrice;
+    }
+
+    // 재시작 시 DB 에 남아 있던 현재 버킷 봉에서 이어서 누적
+    static OpenBar from(BunnyBar bar) {
+        OpenBar open = new OpenBar(bar.getBunnyId(), bar.getBarInterval(), bar.getOpenTime(), LongMoney.toLong(bar.getOpenPrice()));
+        open.high = LongMoney.toLong(bar.getHighPrice());
+        open.low = LongMoney.toLong(bar.getLowPrice());
+        open.close = LongMoney.toLong(bar.getClosePrice());
+        open.volume = LongMoney.toLong(bar.getVolume());
+        open.tradeCount = bar.getTradeCount();
+        return open;
+    }
+
+    void add(long price, long quantity) {
+        high = Math.max(high, price);
+        low = Math.min(low, price);
+        close = price;
+        volume = Math.addExact(volume, quantity);
+        tradeCount++;
+    }
+
+    boolean isExpired(LocalDateTime now) {
+        return !now.isBefore(interval.bucketEnd(openTime));
+    }
+
+    BunnyBar toEntity() {
+        return BunnyBar.builder()
+                .bunnyId(bunnyId)
+                .barInterval(interval)
+                .openTime(openTime)
+                .openPrice(LongMoney.toBigDecimal(open))
+                .highPrice(LongMoney.toBigDecimal(high))
+                .lowPrice(LongMoney.toBigDecimal(low))
+                .closePrice(LongMoney.toBigDecimal(close))
+                .volume(LongMoney.toBigDecimal(volume))
+                .tradeCount(tradeCount)
+                .build();
+    }
+}
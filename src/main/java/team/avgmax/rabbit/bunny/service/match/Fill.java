@@ -0,0 +1,9 @@
+package team.avgmax.rabbit.bunny.service.match;
+
+// 호가창에서 계산된 체결 계획 (상대 주문 1건당 1개)
+public record Fill(
+        String counterOrderId,
+        String counterUserId,
+        long quantity,
+        long price
+) {}
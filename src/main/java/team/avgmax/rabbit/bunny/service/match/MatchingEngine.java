@@ -6,96 +6,115 @@ import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import team.avgmax.rabbit.bunny.entity.Bunny;
-import team.avgmax.rabbit.bunny.entity.Match;
 import team.avgmax.rabbit.bunny.entity.Order;
+import team.avgmax.rabbit.bunny.entity.enums.BarInterval;
 import team.avgmax.rabbit.bunny.entity.enums.OrderType;
-import team.avgmax.rabbit.bunny.repository.MatchRepository;
+import team.avgmax.rabbit.bunny.exception.BunnyError;
+import team.avgmax.rabbit.bunny.exception.BunnyException;
 import team.avgmax.rabbit.bunny.repository.OrderRepository;
-import team.avgmax.rabbit.bunny.service.BunnyIndicatorService;
-import team.avgmax.rabbit.global.money.MoneyCalc;
+import team.avgmax.rabbit.bunny.repository.custom.TradeBatchRepository;
+import team.avgmax.rabbit.bunny.service.IndicatorRecomputeQueue;
+import team.avgmax.rabbit.bunny.service.MarketCapRanking;
+import team.avgmax.rabbit.bunny.service.bar.BarBuilder;
+import team.avgmax.rabbit.global.money.LongMoney;
 import team.avgmax.rabbit.user.entity.PersonalUser;
 import team.avgmax.rabbit.user.repository.HoldBunnyRepository;
 import team.avgmax.rabbit.user.repository.PersonalUserRepository;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class MatchingEngine {
 
-    private final MatchRepository matchRepository;
     private final OrderRepository orderRepository;
     private final HoldBunnyRepository holdBunnyRepository;
     private final PersonalUserRepository personalUserRepository;
+    private final OrderBookRegistry orderBookRegistry;
+    private final TradeBatchRepository tradeBatchRepository;
+    private final BarBuilder barBuilder;
+    private final MarketCapRanking marketCapRanking;
 
-    private final BunnyIndicatorService bunnyIndicatorService;
+    private final IndicatorRecomputeQueue indicatorRecomputeQueue;
 
     @Transactional(propagation = Propagation.MANDATORY)
-    public MatchingResult match(Bunny bunny, Order myOrder, List<Order> candidates) {
+    public MatchingResult match(Bunny bunny, Order myOrder) {
         final Set<BigDecimal> touchedBid = new HashSet<>();
         final Set<BigDecimal> touchedAsk = new HashSet<>();
         final Set<String> affectedUsers = new HashSet<>();
 
-        for (Order counter : candidates) {
-            if (myOrder.getQuantity().signum() <= 0) break;  // myOrder 엔티티에서 직접 확인
-            if (counter.getQuantity().signum() <= 0) continue;
+        // 메모리 호가창에서 체결 대상 계산 (해당 버니 시퀀서 워커에서만 호출됨)
+        OrderBook book = orderBookRegistry.book(bunny.getId());
+        long myLimitPrice = LongMoney.toLong(myOrder.getUnitPrice());
+        List<Fill> fills = book.plan(myOrder.getOrderType(), myLimitPrice, LongMoney.toLong(myOrder.getQuantity()), myOrder.getUser().getId());
+
+        // 실제로 체결되는 상대 주문만 조회 (행 잠금 없음)
+        Map<String, Order> counters = orderRepository.findAllById(fills.stream().map(Fill::counterOrderId).toList())
+                .stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
+
+        // 체결 결과는 배치에 모아두었다가 루프 종료 후 한 번에 기록
+        TradeBatch batch = new TradeBatch(bunny.getId());
+        SettlementAccumulator settlement = new SettlementAccumulator();
+        String myUserId = myOrder.getUser().getId();
+        long filledTotal = 0L;
+        long lastTradePrice = 0L;
+
+        // 매수 예약금(원금 + 수수료)도 같은 정산에 포함 → 주문자와 상대방을 한 번에 정렬해 잠금
+        if (myOrder.getOrderType() == OrderType.BUY) {
+            settlement.debit(myUserId, LongMoney.buyerReservation(LongMoney.toLong(myOrder.getQuantity()), myLimitPrice));
+        }
+
+        // 체결 루프는 long 으로만 계산 (BigDecimal 변환은 영속화 경계에서)
+        for (Fill fill : fills) {
+            Order counter = counters.get(fill.counterOrderId());
+            long counterQty = (counter == null) ? -1L : LongMoney.toLong(counter.getQuantity());
+            if (counterQty < fill.quantity()) {
+                throw new BunnyException(BunnyError.ORDER_BOOK_OUT_OF_SYNC);
+            }
 
             // 거래 가능 수량
-            BigDecimal tradable = myOrder.getQuantity().min(counter.getQuantity());
-            log.info("tradable: {}", tradable);
-            if (tradable.signum() <= 0) continue;
+            long tradable = fill.quantity();
+            log.debug("tradable: {}", tradable);
 
-            BigDecimal tradePrice   = counter.getUnitPrice();                     // 체결가
-            BigDecimal tradeBaseAmt = MoneyCalc.baseAmount(tradable, tradePrice); // 원금(원)
+            long tradePrice   = fill.price();                               // 체결가
+            long tradeBaseAmt = LongMoney.baseAmount(tradable, tradePrice); // 원금(원)
 
-            // 체결 기록
-            Match match = matchRepository.save(Match.create(bunny, myOrder, counter, tradable, tradePrice));
+            String buyerId  = (myOrder.getOrderType() == OrderType.BUY) ? myUserId : fill.counterUserId();
+            String sellerId = (myOrder.getOrderType() == OrderType.SELL) ? myUserId : fill.counterUserId();
 
-            // 현재가 업데이트 (가장 최신 체결가)
-            bunny.updateCurrentPrice(tradePrice);
+            // 체결 기록 + 보유 변동 (배치에 누적)
+            batch.addMatch(buyerId, sellerId, tradable, tradePrice, tradeBaseAmt);
 
-            // 정산 (보유 / 캐럿)
-            // 락 (동일 트랜잭션에서 write 충돌 예방)
-            PersonalUser buyer  = personalUserRepository.findByIdForUpdate(match.getBuyUser().getId());
-            PersonalUser seller = personalUserRepository.findByIdForUpdate(match.getSellUser().getId());
+            // 가장 최신 체결가
+            lastTradePrice = tradePrice;
 
+            // 정산 (캐럿) - 사용자별로 상계해 두었다가 루프 종료 후 1회 반영
             // 매도자 수입 (원금 - 수수료)
-            BigDecimal sellerIncome = MoneyCalc.sellerIncome(tradeBaseAmt);
-            seller.addCarrot(sellerIncome);
+            settlement.credit(sellerId, LongMoney.sellerIncome(tradeBaseAmt));
 
             // 매수자 예약금-실지출 차액 환불
             if (myOrder.getOrderType() == OrderType.BUY) {
-                BigDecimal refund = MoneyCalc.buyerRefundForPriceImprovement(tradable, tradePrice, myOrder.getUnitPrice());
-                if (refund.signum() > 0) {
-                    buyer.addCarrot(refund);
+                long refund = LongMoney.buyerRefundForPriceImprovement(tradable, tradePrice, myLimitPrice);
+                if (refund > 0) {
+                    settlement.credit(buyerId, refund);
                 }
             }
-            // 보유 변동 (원자적 UPDATE 쿼리 - 동시성 안전)
-            // 매수자: holdQuantity 증가 + costBasis 증가
-            holdBunnyRepository.applyBuyMatch(buyer.getId(), bunny.getId(), tradable, tradeBaseAmt);
-            // 매도자: costBasis만 감소 (holdQuantity는 주문 생성 시 이미 선차감됨)
-            holdBunnyRepository.applySellMatch(seller.getId(), bunny.getId(), tradeBaseAmt);
 
             // 영향받은 매도자 추적
-            affectedUsers.add(seller.getId());
-
-            // 주문 잔량 갱신
-
-            myOrder.decreaseQuantity(tradable);
-            counter.decreaseQuantity(tradable);
+            affectedUsers.add(sellerId);
 
-            log.info("counter.getQuantity(): {}", counter.getQuantity());
-
-            // 상대 주문 잔량 처리
-            if (counter.getQuantity().signum() <= 0) {
-                orderRepository.delete(counter);     // 완전 체결 → 삭제
-            } else {
-                orderRepository.save(counter);       // 부분 체결 → 잔량 명시적 저장
-            }
+            // 상대 주문 잔량 (완전 체결이면 0 → 삭제)
+            batch.updateCounter(counter.getId(), counterQty - tradable);
+            filledTotal += tradable;
 
             // touched 가격 기록 (상대편 가격)
             if (myOrder.getOrderType() == OrderType.BUY) {
@@ -105,7 +124,31 @@ public class MatchingEngine {
             }
         }
 
-        log.info("myOrder.getQuantity(): {}", myOrder.getQuantity());
+        // 현재가 / 주문 잔량 갱신
+        if (filledTotal > 0) {
+            bunny.updateCurrentPrice(LongMoney.toBigDecimal(lastTradePrice));
+            marketCapRanking.update(bunny.getId(), bunny.getMarketCap());
+            myOrder.decreaseQuantity(LongMoney.toBigDecimal(filledTotal));
+        }
+
+        // 캐럿 정산: 주문자 포함 관련 사용자를 id 오름차순으로 한 번에 잠근 뒤 1회씩 반영 (교착 방지)
+        // 잔액 검증은 잠금 이후 다시 수행 (사전 검증은 잠금 없이 읽은 값)
+        Map<String, Long> deltas = settlement.netDeltas();
+        if (!deltas.isEmpty()) {
+            for (PersonalUser user : personalUserRepository.findAllByIdInForUpdate(deltas.keySet())) {
+                long delta = deltas.get(user.getId());
+                if (delta >= 0) {
+                    user.addCarrot(LongMoney.toBigDecimal(delta));
+                } else {
+                    user.subtractCarrot(LongMoney.toBigDecimal(-delta));
+                }
+            }
+        }
+
+        // 체결/상대 주문/보유 변동 일괄 기록
+        tradeBatchRepository.flush(batch);
+
+        log.debug("myOrder.getQuantity(): {}", myOrder.getQuantity());
 
         // myOrder 잔량 처리
         if (myOrder.getQuantity().signum() <= 0) {
@@ -123,7 +166,20 @@ public class MatchingEngine {
             holdBunnyRepository.deleteIfEmpty(userId, bunny.getId());
         }
 
-        bunnyIndicatorService.updateBunnyValue(bunny);
+        // 커밋 후 호가창 반영 (체결된 상대 주문 차감, 잔량이 남은 내 주문은 대기열 맨 뒤에 추가) + 봉 갱신
+        RestingOrder resting = RestingOrder.from(myOrder);
+        String bunnyId = bunny.getId();
+        orderBookRegistry.afterCommit(bunnyId, b -> {
+            LocalDateTime filledAt = BarInterval.now();
+            for (Fill fill : fills) {
+                b.fill(fill.counterOrderId(), fill.quantity());
+                barBuilder.onFill(bunnyId, fill.price(), fill.quantity(), filledAt);
+            }
+            b.add(resting);
+        });
+
+        // 시가총액이 바뀌었으므로 가치 지표 재계산 요청 (커밋 후 비동기, 버니별로 합쳐짐)
+        indicatorRecomputeQueue.request(bunnyId);
 
         return new MatchingResult(touchedBid, touchedAsk, bunny.getCurrentPrice());
     }
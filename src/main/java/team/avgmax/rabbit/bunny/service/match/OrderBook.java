@@ -0,0 +1,153 @@
+package team.avgmax.rabbit.bunny.service.match;
+
+import lombok.Getter;
+import team.avgmax.rabbit.bunny.entity.enums.OrderType;
+import team.avgmax.rabbit.bunny.service.orderBook.OrderBookAssembler.OrderLeaf;
+import team.avgmax.rabbit.global.money.LongMoney;
+
+import java.util.*;
+
+/**
+ * 버니 1개의 가격-시간 우선 호가창.
+ * 가격 레벨은 정렬 맵(매수: 높은 가격 우선, 매도: 낮은 가격 우선), 레벨 내부는 FIFO 큐로 관리한다.
+ * 레벨별 잔량 합계를 함께 유지해 호가창 Diff 를 DB 재집계 없이 만든다.
+ * 모든 조회/변경은 해당 버니를 담당하는 시퀀서 워커 스레드에서만 수행한다.
+ */
+public class OrderBook {
+
+    @Getter
+    private final String bunnyId;
+
+    private final NavigableMap<Long, PriceLevel> bids = new TreeMap<>(Comparator.reverseOrder());
+    private final NavigableMap<Long, PriceLevel> asks = new TreeMap<>();
+    private final Map<String, RestingOrder> ordersById = new HashMap<>();
+
+    // 커밋된 변경마다 1씩 증가하는 호가창 버전
+    @Getter
+    private long sequence;
+
+    public OrderBook(String bunnyId) {
+        this(bunnyId, 0L);
+    }
+
+    // 재구성 시 이전 버전에 이어서 sequence 를 매기기 위한 생성자
+    public OrderBook(String bunnyId, long sequence) {
+        this.bunnyId = bunnyId;
+        this.sequence = sequence;
+    }
+
+    // 신규 주문 기준으로 체결 가능한 상대 주문을 우선순위대로 계산 (호가창은 변경하지 않음)
+    public List<Fill> plan(OrderType orderType, long limitPrice, long quantity, String userId) {
+        NavigableMap<Long, PriceLevel> opposite = (orderType == OrderType.BUY) ? asks : bids;
+        List<Fill> fills = new ArrayList<>();
+        long remaining = quantity;
+
+        for (Map.Entry<Long, PriceLevel> level : opposite.entrySet()) {
+            if (remaining <= 0) break;
+            if (!crosses(orderType, limitPrice, level.getKey())) break;
+
+            for (RestingOrder resting : level.getValue().orders) {
+                if (remaining <= 0) break;
+                // 자기 자신의 주문과는 체결하지 않음
+                if (resting.getUserId().equals(userId)) continue;
+
+                long tradable = Math.min(remaining, resting.getQuantity());
+                if (tradable <= 0) continue;
+
+                fills.add(new Fill(resting.getOrderId(), resting.getUserId(), tradable, resting.getUnitPrice()));
+                remaining -= tradable;
+            }
+        }
+        return fills;
+    }
+
+    // 잔량이 남은 주문을 해당 가격 레벨 맨 뒤에 추가
+    public void add(RestingOrder order) {
+        if (order.getQuantity() <= 0) return;
+        PriceLevel level = sideOf(order.getOrderType()).computeIfAbsent(order.getUnitPrice(), p -> new PriceLevel());
+        level.orders.addLast(order);
+        level.totalQuantity += order.getQuantity();
+        ordersById.put(order.getOrderId(), order);
+    }
+
+    // 체결 수량만큼 잔량 차감, 완전 체결 시 레벨에서 제거
+    public void fill(String orderId, long quantity) {
+        RestingOrder order = ordersById.get(orderId);
+        if (order == null) return;
+
+        order.decreaseQuantity(quantity);
+        PriceLevel level = sideOf(order.getOrderType()).get(order.getUnitPrice());
+        if (level != null) {
+            level.totalQuantity -= quantity;
+        }
+        if (order.getQuantity() == 0) {
+            remove(orderId);
+        }
+    }
+
+    public RestingOrder remove(String orderId) {
+        RestingOrder order = ordersById.remove(orderId);
+        if (order == null) return null;
+
+        NavigableMap<Long, PriceLevel> side = sideOf(order.getOrderType());
+        PriceLevel level = side.get(order.getUnitPrice());
+        if (level != null) {
+            level.orders.remove(order);
+            level.totalQuantity -= order.getQuantity();
+            if (level.orders.isEmpty()) {
+                side.remove(order.getUnitPrice());
+            }
+        }
+        return order;
+    }
+
+    public boolean contains(String orderId) {
+        return ordersById.containsKey(orderId);
+    }
+
+    public long advanceSequence() {
+        return ++sequence;
+    }
+
+    // 스냅샷용: 매수/매도 각각 우선순위 상위 maxPerSide 개 레벨의 잔량 합계 (0 이하면 전체)
+    public List<OrderLeaf> topLevels(int maxPerSide) {
+        List<OrderLeaf> out = new ArrayList<>();
+        collectTop(bids, OrderType.BUY, maxPerSide, out);
+        collectTop(asks, OrderType.SELL, maxPerSide, out);
+        return out;
+    }
+
+    private static void collectTop(NavigableMap<Long, PriceLevel> side, OrderType type, int max, List<OrderLeaf> out) {
+        int count = 0;
+        for (Map.Entry<Long, PriceLevel> e : side.entrySet()) {
+            if (max > 0 && count++ >= max) break;
+            out.add(new OrderLeaf(
+                    LongMoney.toBigDecimal(e.getKey()),
+                    LongMoney.toBigDecimal(e.getValue().totalQuantity),
+                    type
+            ));
+        }
+    }
+
+    // 해당 가격 레벨의 잔량 합계 (레벨이 없으면 0)
+    public long levelQuantity(OrderType side, long price) {
+        PriceLevel level = sideOf(side).get(price);
+        return (level == null) ? 0L : level.totalQuantity;
+    }
+
+    private NavigableMap<Long, PriceLevel> sideOf(OrderType orderType) {
+        return (orderType == OrderType.BUY) ? bids : asks;
+    }
+
+    private static boolean crosses(OrderType orderType, long limitPrice, long levelPrice) {
+        return (orderType == OrderType.BUY)
+                ? levelPrice <= limitPrice
+                : levelPrice >= limitPrice;
+    }
+
+    // 가격 레벨 1개 (FIFO 대기열 + 잔량 합계)
+    private static final class PriceLevel {
+        private final Deque<RestingOrder> orders = new ArrayDeque<>();
+        private long totalQuantity;
+    }
+}
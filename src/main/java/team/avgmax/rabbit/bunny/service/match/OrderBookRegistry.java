@@ -0,0 +1,84 @@
+package team.avgmax.rabbit.bunny.service.match;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import team.avgmax.rabbit.bunny.dto.orderBook.OrderBookSnapshot;
+import team.avgmax.rabbit.bunny.entity.Order;
+import team.avgmax.rabbit.bunny.repository.OrderRepository;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+/**
+ * 버니별 메모리 호가창 저장소.
+ * 기동 시 order 테이블에서 한 번 재구성하고, 이후에는 커밋된 주문/체결/취소만 반영한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderBookRegistry {
+
+    private final OrderRepository orderRepository;
+
+    private final Map<String, OrderBook> books = new ConcurrentHashMap<>();
+
+    // 이 서버 실행의 호가창 epoch (sequence 는 재기동 시 0 부터 다시 시작하므로 클라이언트가 함께 비교)
+    private final long epoch = ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE);
+
+    // 버니 이름 → 마지막으로 만들어진 호가창 스냅샷 (읽기는 어느 스레드에서나 O(1))
+    private final Map<String, OrderBookSnapshot> snapshots = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void rebuild() {
+        // 매칭 담당을 다시 넘겨받아 재구성하는 경우에도 sequence 는 이전 값에 이어서 증가 (구독자/다른 노드의 중복 제거 기준 유지)
+        Map<String, Long> lastSequences = new HashMap<>();
+        books.forEach((bunnyId, book) -> lastSequences.put(bunnyId, book.getSequence()));
+        books.clear();
+        snapshots.clear();
+
+        // 생성 순서대로 넣어야 레벨 내부 FIFO 가 유지됨
+        List<Order> openOrders = orderRepository.findAllOpenOrdersOrderByCreatedAtAsc();
+        for (Order order : openOrders) {
+            String bunnyId = order.getBunny().getId();
+            books.computeIfAbsent(bunnyId, id -> new OrderBook(id, lastSequences.getOrDefault(id, 0L)))
+                    .add(RestingOrder.from(order));
+        }
+        lastSequences.forEach((bunnyId, sequence) -> books.computeIfAbsent(bunnyId, id -> new OrderBook(id, sequence)));
+
+        log.info("호가창 재구성 완료: bunnies={}, openOrders={}", books.size(), openOrders.size());
+    }
+
+    public long epoch() {
+        return epoch;
+    }
+
+    public OrderBook book(String bunnyId) {
+        return books.computeIfAbsent(bunnyId, OrderBook::new);
+    }
+
+    public OrderBookSnapshot snapshot(String bunnyName) {
+        return snapshots.get(bunnyName);
+    }
+
+    public void storeSnapshot(OrderBookSnapshot snapshot) {
+        snapshots.put(snapshot.bunnyName(), snapshot);
+    }
+
+    // DB 커밋이 끝난 뒤에만 메모리 호가창에 반영 (롤백 시 호가창은 그대로)
+    public void afterCommit(String bunnyId, Consumer<OrderBook> mutation) {
+        OrderBook book = book(bunnyId);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override public void afterCommit() {
+                mutation.accept(book);
+            }
+        });
+    }
+}
@@ -0,0 +1,244 @@
+package team.avgmax.rabbit.bunny.service.match;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import team.avgmax.rabbit.bunny.controller.orderBook.TopicBroadcaster;
+import team.avgmax.rabbit.bunny.dto.request.OrderRequest;
+import team.avgmax.rabbit.bunny.dto.response.OrderResponse;
+import team.avgmax.rabbit.bunny.exception.BunnyError;
+import team.avgmax.rabbit.bunny.exception.BunnyException;
+import team.avgmax.rabbit.global.util.UlidGenerator;
+import team.avgmax.rabbit.user.exception.UserError;
+import team.avgmax.rabbit.user.exception.UserException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 매칭 담당 노드로 주문/취소를 전달하는 Redis pub/sub 요청-응답.
+ * 리스를 가진 노드가 아니면 {채널}:{담당 노드 id} 로 명령을 보내고 {채널}:reply:{내 노드 id} 로 결과를 기다린다.
+ * 담당 노드는 받은 명령을 자기 시퀀서로 실행하고 결과(응답 또는 오류 코드)를 돌려준다.
+ * 구독자가 없어 전달되지 않았으면 실행되지 않은 것이므로 503, 응답 시간을 넘기면 실행 여부를 알 수 없으므로 504 로 알린다.
+ */
+@Slf4j
+@Component
+public class OrderCommandForwarder implements MessageListener {
+
+    private static final String CREATE = "CREATE";
+    private static final String CANCEL = "CANCEL";
+
+    public interface Handler {
+        OrderResponse create(String bunnyName, OrderRequest request, String userId);
+
+        void cancel(String bunnyName, String orderId, String userId);
+    }
+
+    record OrderCommand(String requestId, String replyTo, String type,
+                        String bunnyName, String userId, String orderId, OrderRequest request) {}
+
+    // errorType: BUNNY / USER / UNKNOWN (errorCode 는 각 Error enum 이름)
+    record OrderCommandReply(String requestId, OrderResponse response, String errorType, String errorCode) {}
+
+    private final ObjectMapper objectMapper;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final TopicBroadcaster broadcaster;
+    private final boolean enabled;
+    private final String channel;
+    private final long timeoutMillis;
+
+    // 요청 id → 응답 대기
+    private final Map<String, CompletableFuture<OrderCommandReply>> pending = new ConcurrentHashMap<>();
+    // 전달받은 명령 실행 스레드 (시퀀서 결과를 기다리는 동안 Redis 수신 스레드를 막지 않도록)
+    private final ThreadPoolExecutor commandExecutor;
+    private volatile Handler handler;
+
+    public OrderCommandForwarder(ObjectMapper objectMapper,
+                                 RedisTemplate<String, Object> redisTemplate,
+                                 RedisMessageListenerContainer redisMessageListenerContainer,
+                                 TopicBroadcaster broadcaster,
+                                 @Value("${app.order.matcher.lease-enabled:false}") boolean enabled,
+                                 @Value("${app.order.matcher.channel:order:command}") String channel,
+                                 @Value("${app.order.matcher.forward-timeout-ms:5000}") long timeoutMillis,
+                                 @Value("${app.order.sequencer.queue-capacity:1024}") int queueCapacity) {
+        this.objectMapper = objectMapper;
+        this.redisTemplate = redisTemplate;
+        this.redisMessageListenerContainer = redisMessageListenerContainer;
+        this.broadcaster = broadcaster;
+        this.enabled = enabled;
+        this.channel = channel;
+        this.timeoutMillis = timeoutMillis;
+        int threads = Runtime.getRuntime().availableProcessors() * 2;
+        this.commandExecutor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "order-forward");
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) return;
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(commandChannel(broadcaster.nodeId())));
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(replyChannel(broadcaster.nodeId())));
+    }
+
+    // 담당 노드에서 명령을 실행할 대상 (BunnyService 가 등록)
+    public void register(Handler handler) {
+        this.handler = handler;
+    }
+
+    public OrderResponse create(String owner, String bunnyName, OrderRequest request, String userId) {
+        OrderCommandReply reply = send(owner, CREATE, bunnyName, userId, null, request);
+        return reply.response();
+    }
+
+    public void cancel(String owner, String bunnyName, String orderId, String userId) {
+        send(owner, CANCEL, bunnyName, userId, orderId, null);
+    }
+
+    @Override
+    public void onMessage(@NonNull Message message, @Nullable byte[] pattern) {
+        String source = new String(message.getChannel(), StandardCharsets.UTF_8);
+        try {
+            if (source.equals(replyChannel(broadcaster.nodeId()))) {
+                OrderCommandReply reply = objectMapper.readValue(message.getBody(), OrderCommandReply.class);
+                CompletableFuture<OrderCommandReply> future = pending.get(reply.requestId());
+                if (future != null) future.complete(reply);
+                return;
+            }
+            OrderCommand command = objectMapper.readValue(message.getBody(), OrderCommand.class);
+            try {
+                commandExecutor.execute(() -> reply(command, execute(command)));
+            } catch (RejectedExecutionException e) {
+                reply(command, error(command, new BunnyException(BunnyError.ORDER_QUEUE_FULL)));
+            }
+        } catch (Exception e) {
+            log.warn("주문 명령 메시지 처리 실패: channel={}", source, e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        commandExecutor.shutdown();
+    }
+
+    private OrderCommandReply send(String owner, String type, String bunnyName, String userId,
+                                   String orderId, OrderRequest request) {
+        if (!enabled || owner == null) throw new BunnyException(BunnyError.ORDER_MATCHER_UNAVAILABLE);
+
+        OrderCommand command = new OrderCommand(UlidGenerator.generate(), broadcaster.nodeId(), type,
+                bunnyName, userId, orderId, request);
+        CompletableFuture<OrderCommandReply> future = new CompletableFuture<>();
+        pending.put(command.requestId(), future);
+        try {
+            if (publish(commandChannel(owner), command) == 0) {
+                // 받은 노드가 없음 → 실행되지 않았으므로 재시도해도 안전
+                throw new BunnyException(BunnyError.ORDER_MATCHER_UNAVAILABLE);
+            }
+            OrderCommandReply reply = future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            rethrow(reply);
+            return reply;
+        } catch (TimeoutException e) {
+            log.warn("주문 명령 응답 시간 초과: owner={}, type={}, bunnyName={}", owner, type, bunnyName);
+            throw new BunnyException(BunnyError.ORDER_FORWARD_TIMEOUT);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BunnyException(BunnyError.ORDER_FORWARD_TIMEOUT);
+        } catch (ExecutionException e) {
+            throw new BunnyException(BunnyError.ORDER_FORWARD_FAILED);
+        } finally {
+            pending.remove(command.requestId());
+        }
+    }
+
+    private long publish(String target, Object payload) {
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(payload);
+        } catch (Exception e) {
+            throw new BunnyException(BunnyError.ORDER_FORWARD_FAILED);
+        }
+        byte[] targetBytes = target.getBytes(StandardCharsets.UTF_8);
+        try {
+            Long receivers = redisTemplate.execute((RedisCallback<Long>) connection -> connection.publish(targetBytes, body));
+            return (receivers != null) ? receivers : 0L;
+        } catch (Exception e) {
+            log.warn("주문 명령 발행 실패: channel={}", target, e);
+            return 0L;
+        }
+    }
+
+    private OrderCommandReply execute(OrderCommand command) {
+        Handler target = handler;
+        if (target == null) return error(command, new BunnyException(BunnyError.ORDER_MATCHER_UNAVAILABLE));
+        try {
+            if (CREATE.equals(command.type())) {
+                OrderResponse response = target.create(command.bunnyName(), command.request(), command.userId());
+                return new OrderCommandReply(command.requestId(), response, null, null);
+            }
+            target.cancel(command.bunnyName(), command.orderId(), command.userId());
+            return new OrderCommandReply(command.requestId(), null, null, null);
+        } catch (RuntimeException e) {
+            return error(command, e);
+        }
+    }
+
+    private void reply(OrderCommand command, OrderCommandReply reply) {
+        if (publish(replyChannel(command.replyTo()), reply) == 0) {
+            log.warn("주문 명령 응답 전달 실패: requestId={}, replyTo={}", command.requestId(), command.replyTo());
+        }
+    }
+
+    private static OrderCommandReply error(OrderCommand command, RuntimeException e) {
+        if (e instanceof BunnyException be) {
+            return new OrderCommandReply(command.requestId(), null, "BUNNY", be.getError().name());
+        }
+        if (e instanceof UserException ue) {
+            return new OrderCommandReply(command.requestId(), null, "USER", ue.getError().name());
+        }
+        log.warn("전달받은 주문 명령 실행 실패: requestId={}, type={}", command.requestId(), command.type(), e);
+        return new OrderCommandReply(command.requestId(), null, "UNKNOWN", null);
+    }
+
+    // 담당 노드에서 난 오류를 호출 노드에서 같은 예외로 다시 던짐
+    private static void rethrow(OrderCommandReply reply) {
+        if (reply.errorType() == null) return;
+        switch (reply.errorType()) {
+            case "BUNNY" -> throw new BunnyException(BunnyError.valueOf(reply.errorCode()));
+            case "USER" -> throw new UserException(UserError.valueOf(reply.errorCode()));
+            default -> throw new BunnyException(BunnyError.ORDER_FORWARD_FAILED);
+        }
+    }
+
+    private String commandChannel(String node) {
+        return channel + ":" + node;
+    }
+
+    private String replyChannel(String node) {
+        return channel + ":reply:" + node;
+    }
+}
@@ -0,0 +1,153 @@
+package team.avgmax.rabbit.bunny.service.match;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import team.avgmax.rabbit.bunny.controller.orderBook.TopicBroadcaster;
+import team.avgmax.rabbit.bunny.entity.enums.BarInterval;
+import team.avgmax.rabbit.bunny.exception.BunnyError;
+import team.avgmax.rabbit.bunny.exception.BunnyException;
+import team.avgmax.rabbit.bunny.service.bar.BarBuilder;
+import team.avgmax.rabbit.bunny.service.orderBook.OrderBookReplayBuffer;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 주문 매칭 담당 노드 리스.
+ * 호가창은 노드 메모리에 있으므로 여러 노드가 동시에 매칭하면 호가창이 갈라진다.
+ * Redis 리스를 가진 노드 1개만 주문/취소를 처리하고, 나머지 노드는 OrderCommandForwarder 로 담당 노드에 전달한다.
+ * 리스를 새로 얻으면 그 사이 다른 노드가 바꾼 주문/봉을 반영하도록 호가창과 진행 중 봉을 DB 에서 다시 만든다.
+ * 여러 노드 배포에서만 켠다 (app.order.matcher.lease-enabled, 기본 false). 꺼져 있으면 항상 담당 노드로 동작한다.
+ */
+@Slf4j
+@Component
+public class OrderMatcherLease {
+
+    private static final String LEASE_KEY = "order_matcher_lease"; // 값: 노드 id|호가창 epoch
+
+    // 내 리스면 연장(1), 비어 있으면 획득(2), 다른 노드 소유면 0
+    private static final RedisScript<Long> ACQUIRE_SCRIPT = new DefaultRedisScript<>(
+            "local owner = redis.call('GET', KEYS[1]) " +
+            "if owner == ARGV[1] then redis.call('PEXPIRE', KEYS[1], ARGV[2]) return 1 end " +
+            "if owner then return 0 end " +
+            "redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2]) " +
+            "return 2",
+            Long.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final OrderBookRegistry orderBookRegistry;
+    private final OrderBookReplayBuffer orderBookReplayBuffer;
+    private final BarBuilder barBuilder;
+    private final TopicBroadcaster broadcaster;
+    private final boolean enabled;
+    private final long ttlMillis;
+
+    // 로컬 시계 기준 리스 만료 시각 (갱신 실패가 이어지면 Redis 키보다 먼저 만료됨)
+    private volatile long ownedUntil;
+    private volatile String ownerId;
+    private volatile long ownerEpoch;
+    // 이 노드가 마지막으로 리스를 얻은 시각 (이후 체결은 모두 이 노드의 메모리 봉에 누적됨)
+    private volatile LocalDateTime ownedSince;
+
+    public OrderMatcherLease(RedisTemplate<String, Object> redisTemplate,
+                             OrderBookRegistry orderBookRegistry,
+                             OrderBookReplayBuffer orderBookReplayBuffer,
+                             BarBuilder barBuilder,
+                             TopicBroadcaster broadcaster,
+                             @Value("${app.order.matcher.lease-enabled:false}") boolean enabled,
+                             @Value("${app.order.matcher.lease-ttl-ms:10000}") long ttlMillis) {
+        this.redisTemplate = redisTemplate;
+        this.orderBookRegistry = orderBookRegistry;
+        this.orderBookReplayBuffer = orderBookReplayBuffer;
+        this.barBuilder = barBuilder;
+        this.broadcaster = broadcaster;
+        this.enabled = enabled;
+        this.ttlMillis = ttlMillis;
+        // 단일 노드 배포는 기동 시점부터 담당
+        this.ownedSince = enabled ? null : BarInterval.now();
+    }
+
+    @Scheduled(fixedDelayString = "${app.order.matcher.renew-interval-ms:3000}")
+    public void renew() {
+        if (!enabled) return;
+
+        String nodeId = broadcaster.nodeId();
+        String leaseValue = nodeId + "|" + orderBookRegistry.epoch();
+        long now = System.currentTimeMillis();
+        Long result;
+        try {
+            result = redisTemplate.execute(ACQUIRE_SCRIPT, List.of(LEASE_KEY), leaseValue, String.valueOf(ttlMillis));
+        } catch (Exception e) {
+            // 갱신하지 못하면 로컬 만료 시각이 지나는 순간 주문 처리를 멈춤
+            log.warn("주문 매칭 리스 갱신 실패: nodeId={}", nodeId, e);
+            return;
+        }
+
+        if (result != null && result > 0) {
+            if (result == 2) {
+                ownedSince = BarInterval.now();
+                orderBookRegistry.rebuild();
+                orderBookReplayBuffer.clear();
+                barBuilder.restore();
+                log.info("주문 매칭 리스 획득: nodeId={}", nodeId);
+            }
+            ownerId = nodeId;
+            ownerEpoch = orderBookRegistry.epoch();
+            ownedUntil = now + ttlMillis;
+            return;
+        }
+
+        if (ownedUntil > 0) {
+            log.warn("주문 매칭 리스 상실: nodeId={}", nodeId);
+            barBuilder.discardOpenBars();
+        }
+        ownedUntil = 0L;
+        ownedSince = null;
+        readOwner();
+    }
+
+    public boolean isOwner() {
+        return !enabled || System.currentTimeMillis() < ownedUntil;
+    }
+
+    // 주문을 전달할 담당 노드 (모르면 null)
+    public String ownerId() {
+        return ownerId;
+    }
+
+    // 주문/취소 실행 직전에 호출 (시퀀서 워커 스레드)
+    public void checkOwner() {
+        if (!isOwner()) {
+            throw new BunnyException(BunnyError.ORDER_MATCHER_UNAVAILABLE);
+        }
+    }
+
+    // from 이후의 체결을 모두 이 노드가 처리했는지 (그 사이 재기동/담당 변경이 없었는지)
+    public boolean ownedContinuouslySince(LocalDateTime from) {
+        LocalDateTime since = ownedSince;
+        return isOwner() && since != null && !since.isAfter(from);
+    }
+
+    // 담당 노드 호가창의 epoch (리스가 꺼져 있으면 이 노드)
+    public long ownerEpoch() {
+        return enabled ? ownerEpoch : orderBookRegistry.epoch();
+    }
+
+    private void readOwner() {
+        Object value = redisTemplate.opsForValue().get(LEASE_KEY);
+        String[] owner = (value == null) ? new String[0] : value.toString().split("\\|", 2);
+        ownerId = (owner.length == 2) ? owner[0] : null;
+        ownerEpoch = (owner.length == 2) ? Long.parseLong(owner[1]) : 0L;
+    }
+
+    // 담당 노드가 destination 으로 보낸 것 중 이 노드에 마지막으로 도착한 sequence
+    public long ownerSequence(String destination) {
+        String owner = ownerId;
+        return (owner == null) ? 0L : broadcaster.lastSequence(owner, destination);
+    }
+}
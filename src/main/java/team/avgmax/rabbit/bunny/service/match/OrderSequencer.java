@@ -0,0 +1,106 @@
+package team.avgmax.rabbit.bunny.service.match;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import team.avgmax.rabbit.bunny.exception.BunnyError;
+import team.avgmax.rabbit.bunny.exception.BunnyException;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 버니별 단일 작성자(single-writer) 주문 시퀀서.
+ * 같은 버니의 주문/취소는 항상 같은 워커 스레드에서 도착 순서대로 실행되고,
+ * 서로 다른 버니는 워커 수만큼 병렬로 처리된다.
+ */
+@Slf4j
+@Component
+public class OrderSequencer {
+
+    private final ThreadPoolExecutor[] workers;
+    private final TransactionTemplate transactionTemplate;
+
+    public OrderSequencer(PlatformTransactionManager transactionManager,
+                          @Value("${app.order.sequencer.workers:0}") int workerCount,
+                          @Value("${app.order.sequencer.queue-capacity:1024}") int queueCapacity) {
+        int n = (workerCount > 0) ? workerCount : Runtime.getRuntime().availableProcessors();
+
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.workers = new ThreadPoolExecutor[n];
+        for (int i = 0; i < n; i++) {
+            String threadName = "order-seq-" + i;
+            // 워커당 스레드 1개 + 고정 크기 대기열 (가득 차면 즉시 거절)
+            workers[i] = new ThreadPoolExecutor(
+                    1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity),
+                    r -> {
+                        Thread t = new Thread(r, threadName);
+                        t.setDaemon(true);
+                        return t;
+                    },
+                    new ThreadPoolExecutor.AbortPolicy()
+            );
+        }
+        log.info("주문 시퀀서 시작: workers={}, queueCapacity={}", n, queueCapacity);
+    }
+
+    // 버니 담당 워커에서 새 트랜잭션으로 실행하고 결과를 기다린다.
+    public <T> T submit(String bunnyName, Supplier<T> command) {
+        CompletableFuture<T> future;
+        try {
+            future = CompletableFuture.supplyAsync(
+                    () -> transactionTemplate.execute(status -> command.get()),
+                    workerOf(bunnyName)
+            );
+        } catch (RejectedExecutionException e) {
+            log.warn("주문 대기열 초과: bunnyName={}", bunnyName);
+            throw new BunnyException(BunnyError.ORDER_QUEUE_FULL);
+        }
+
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            // 워커에서 발생한 예외를 호출 스레드로 그대로 전달
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            if (e.getCause() instanceof Error error) throw error;
+            throw e;
+        }
+    }
+
+    public void run(String bunnyName, Runnable command) {
+        submit(bunnyName, () -> {
+            command.run();
+            return null;
+        });
+    }
+
+    private ThreadPoolExecutor workerOf(String bunnyName) {
+        return workers[Math.floorMod(bunnyName.hashCode(), workers.length)];
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ThreadPoolExecutor worker : workers) {
+            worker.shutdown();
+        }
+        for (ThreadPoolExecutor worker : workers) {
+            try {
+                if (!worker.awaitTermination(10, TimeUnit.SECONDS)) {
+                    worker.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                worker.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package team.avgmax.rabbit.bunny.service.match;
+
+import lombok.Getter;
+import team.avgmax.rabbit.bunny.entity.Order;
+import team.avgmax.rabbit.bunny.entity.enums.OrderType;
+import team.avgmax.rabbit.bunny.exception.BunnyError;
+import team.avgmax.rabbit.bunny.exception.BunnyException;
+import team.avgmax.rabbit.global.money.LongMoney;
+
+// 호가창에 대기 중인 주문 (메모리 상주, Order 엔티티와 1:1)
+@Getter
+public class RestingOrder {
+
+    private final String orderId;
+    private final String userId;
+    private final OrderType orderType;
+    private final long unitPrice;
+    private long quantity;
+
+    public RestingOrder(String orderId, String userId, OrderType orderType, long unitPrice, long quantity) {
+        this.orderId = orderId;
+        this.userId = userId;
+        this.orderType = orderType;
+        this.unitPrice = unitPrice;
+        this.quantity = quantity;
+    }
+
+    public static RestingOrder from(Order order) {
+        return new RestingOrder(
+                order.getId(),
+                order.getUser().getId(),
+                order.getOrderType(),
+                LongMoney.toLong(order.getUnitPrice()),
+                LongMoney.toLong(order.getQuantity())
+        );
+    }
+
+    void decreaseQuantity(long delta) {
+        long next = this.quantity - delta;
+        if (next < 0) {
+            throw new BunnyException(BunnyError.ORDER_QUANTITY_NEGATIVE);
+        }
+        this.quantity = next;
+    }
+}
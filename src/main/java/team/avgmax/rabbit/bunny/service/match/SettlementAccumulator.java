@@ -0,0 +1,32 @@
+package team.avgmax.rabbit.bunny.service.match;
+
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * 매칭 1회 동안 발생한 사용자별 캐럿 증감을 상계(netting)한다.
+ * 사용자 id 오름차순으로 정렬해 두어, 적용 시 항상 같은 순서로 행 잠금을 잡는다.
+ */
+public class SettlementAccumulator {
+
+    private final NavigableMap<String, Long> carrotDeltas = new TreeMap<>();
+
+    public void credit(String userId, long amount) {
+        if (amount == 0) return;
+        carrotDeltas.merge(userId, amount, Math::addExact);
+    }
+
+    public void debit(String userId, long amount) {
+        credit(userId, Math.negateExact(amount));
+    }
+
+    // 사용자 id 오름차순, 증감이 0 이 아닌 항목만
+    public Map<String, Long> netDeltas() {
+        NavigableMap<String, Long> out = new TreeMap<>();
+        carrotDeltas.forEach((userId, delta) -> {
+            if (delta != 0) out.put(userId, delta);
+        });
+        return out;
+    }
+}
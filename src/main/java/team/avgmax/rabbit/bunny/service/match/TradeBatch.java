@@ -0,0 +1,71 @@
+package team.avgmax.rabbit.bunny.service.match;
+
+import lombok.Getter;
+import team.avgmax.rabbit.global.util.UlidGenerator;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 신규 주문 1건의 매칭 결과를 모아두는 체결 배치.
+ * 매칭 루프에서는 메모리에만 쌓고, 루프가 끝난 뒤 TradeBatchRepository 가 한 번에 기록한다.
+ */
+@Getter
+public class TradeBatch {
+
+    private final String bunnyId;
+
+    // 체결 기록 (match insert)
+    private final List<MatchRow> matches = new ArrayList<>();
+
+    // 상대 주문 잔량 (orderId → 체결 후 잔량, 0 이면 삭제)
+    private final Map<String, Long> counterRemaining = new LinkedHashMap<>();
+
+    // 사용자별 보유 변동 합계
+    private final Map<String, HoldDelta> holdDeltas = new LinkedHashMap<>();
+
+    public TradeBatch(String bunnyId) {
+        this.bunnyId = bunnyId;
+    }
+
+    public record MatchRow(
+            String matchId,
+            String buyUserId,
+            String sellUserId,
+            long quantity,
+            long unitPrice
+    ) {}
+
+    @Getter
+    public static class HoldDelta {
+        private long quantity;   // 보유 수량 증감
+        private long costBasis;  // 매입 원가 증감
+
+        public boolean isZero() {
+            return quantity == 0 && costBasis == 0;
+        }
+    }
+
+    public void addMatch(String buyUserId, String sellUserId, long quantity, long unitPrice, long baseAmount) {
+        matches.add(new MatchRow(UlidGenerator.generateMonotonic(), buyUserId, sellUserId, quantity, unitPrice));
+
+        // 매수자: holdQuantity 증가 + costBasis 증가
+        HoldDelta buy = holdDeltas.computeIfAbsent(buyUserId, id -> new HoldDelta());
+        buy.quantity = Math.addExact(buy.quantity, quantity);
+        buy.costBasis = Math.addExact(buy.costBasis, baseAmount);
+
+        // 매도자: costBasis만 감소 (holdQuantity는 주문 생성 시 이미 선차감됨)
+        HoldDelta sell = holdDeltas.computeIfAbsent(sellUserId, id -> new HoldDelta());
+        sell.costBasis = Math.subtractExact(sell.costBasis, baseAmount);
+    }
+
+    public void updateCounter(String orderId, long remaining) {
+        counterRemaining.put(orderId, remaining);
+    }
+
+    public boolean isEmpty() {
+        return matches.isEmpty();
+    }
+}
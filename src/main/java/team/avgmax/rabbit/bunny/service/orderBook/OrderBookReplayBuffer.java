@@ -0,0 +1,68 @@
+package team.avgmax.rabbit.bunny.service.orderBook;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import team.avgmax.rabbit.bunny.dto.orderBook.OrderBookDiff;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 버니별 최근 호가창 Diff 를 고정 개수만큼 보관하는 재전송 버퍼.
+ * 쓰기는 버니 담당 시퀀서 워커, 읽기는 resync 요청 스레드에서 일어나므로 버니 단위로 동기화한다.
+ */
+@Component
+public class OrderBookReplayBuffer {
+
+    private final int capacity;
+    private final Map<String, Deque<OrderBookDiff>> buffers = new ConcurrentHashMap<>();
+
+    public OrderBookReplayBuffer(@Value("${app.websocket.orderbook.replay-size:256}") int capacity) {
+        this.capacity = capacity;
+    }
+
+    public void append(OrderBookDiff diff) {
+        Deque<OrderBookDiff> buffer = buffers.computeIfAbsent(diff.bunnyName(), k -> new ArrayDeque<>(capacity));
+        synchronized (buffer) {
+            if (buffer.size() >= capacity) {
+                buffer.pollFirst(); // 가장 오래된 Diff 부터 버림
+            }
+            buffer.addLast(diff);
+        }
+    }
+
+    // 매칭 담당을 다시 넘겨받은 경우: 그 사이 다른 노드의 변경이 빠져 있으므로 버린다 (이후 resync 는 스냅샷으로)
+    public void clear() {
+        buffers.clear();
+    }
+
+    // 같은 epoch 에서 afterSequence 이후 Diff 를 빠짐없이 돌려줄 수 있으면 그 목록,
+    // epoch 가 다르거나(재기동 등 다른 서버 실행의 sequence) 버퍼에서 이미 밀려났으면 empty
+    public Optional<List<OrderBookDiff>> since(String bunnyName, long afterEpoch, long afterSequence,
+                                               long currentEpoch, long currentSequence) {
+        if (afterEpoch != currentEpoch) return Optional.empty();
+        if (afterSequence == currentSequence) return Optional.of(List.of());
+        if (afterSequence > currentSequence) return Optional.empty();
+
+        Deque<OrderBookDiff> buffer = buffers.get(bunnyName);
+        if (buffer == null) return Optional.empty();
+
+        synchronized (buffer) {
+            OrderBookDiff oldest = buffer.peekFirst();
+            if (oldest == null || oldest.prevSequence() > afterSequence) return Optional.empty();
+
+            List<OrderBookDiff> out = new ArrayList<>();
+            for (OrderBookDiff diff : buffer) {
+                if (diff.sequence() > afterSequence && diff.sequence() <= currentSequence) {
+                    out.add(diff);
+                }
+            }
+            return Optional.of(out);
+        }
+    }
+}
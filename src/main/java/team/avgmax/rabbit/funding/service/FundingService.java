@@ -21,6 +21,7 @@ import team.avgmax.rabbit.funding.entity.Funding;
 import team.avgmax.rabbit.funding.exception.FundingError;
 import team.avgmax.rabbit.funding.exception.FundingException;
 import team.avgmax.rabbit.bunny.repository.BunnyRepository;
+import team.avgmax.rabbit.bunny.service.MarketCapRanking;
 import team.avgmax.rabbit.ai.service.ChatClientService;
 import team.avgmax.rabbit.funding.repository.FundBunnyRepository;
 import team.avgmax.rabbit.funding.repository.FundingRepository;
@@ -48,6 +49,7 @@ public class FundingService {
     private final FundingRepository fundingRepository;
     private final FundBunnyRepository fundBunnyRepository;
     private final BunnyRepository bunnyRepository;
+    private final MarketCapRanking marketCapRanking;
     private final HoldBunnyRepository holdBunnyRepository;
     private final RedisUtil redisUtil;
 
@@ -184,6 +186,7 @@ public class FundingService {
 
         // 3. FundBunny를 Bunny로 변환하여 저장
         Bunny bunny = bunnyRepository.save(fundBunny.convertToBunny());
+        marketCapRanking.update(bunny.getId(), bunny.getMarketCap());
 
         // 4. 해당 FundBunny의 모든 Funding 조회
         List<Funding> fundings = fundingRepository.findByFundBunny(fundBunny);
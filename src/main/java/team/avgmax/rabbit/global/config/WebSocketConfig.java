@@ -2,8 +2,10 @@ package team.avgmax.rabbit.global.config;
 
 import lombok.RequiredArgsConstructor;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.security.authentication.AbstractAuthenticationToken;
 import org.springframework.security.oauth2.jwt.Jwt;
@@ -11,9 +13,12 @@ import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 import team.avgmax.rabbit.auth.oauth2.CookieBearerTokenResolver;
+import team.avgmax.rabbit.bunny.controller.orderBook.CompactEncodingInterceptor;
 import team.avgmax.rabbit.bunny.controller.orderBook.JwtHandshakeInterceptor;
+import team.avgmax.rabbit.bunny.controller.orderBook.OrderBookOutboundDecoratorFactory;
 
 // Spring-WebSocket dependency
 @Configuration
@@ -24,6 +29,20 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     private final CookieBearerTokenResolver cookieBearerTokenResolver;
     private final JwtDecoder jwtDecoder;
     private final Converter<Jwt, ? extends AbstractAuthenticationToken> jwtAuthenticationConverter;
+    private final OrderBookOutboundDecoratorFactory orderBookOutboundDecoratorFactory;
+    private final CompactEncodingInterceptor compactEncodingInterceptor;
+
+    @Value("${app.websocket.outbound.pool-size:0}")
+    private int outboundPoolSize;
+
+    @Value("${app.websocket.outbound.queue-capacity:10000}")
+    private int outboundQueueCapacity;
+
+    @Value("${app.websocket.outbound.send-time-limit-ms:10000}")
+    private int sendTimeLimit;
+
+    @Value("${app.websocket.outbound.send-buffer-size-limit:524288}")
+    private int sendBufferSizeLimit;
 
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
@@ -31,12 +50,37 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         // [서버 → 클라이언트] 브로커가 라우팅할 목적지(prefix)
         // - /topic : 방송형(Pub/Sub). 다수 구독자가 함께 받는 채널 (예: 호가창 스냅샷)
         // - /queue : 1:1 지향(개인용). convertAndSendToUser(...)와 궁합 (예: 주문 결과/알림)
-        registry.enableSimpleBroker("/topic");
+        registry.enableSimpleBroker("/topic", "/queue");
 
         // [클라이언트 → 서버] @MessageMapping 메서드로 들어오는 경로(prefix)
         registry.setApplicationDestinationPrefixes("/app");
     }
 
+    // [클라이언트 → 서버] CONNECT/SUBSCRIBE 시 compact 인코딩 협상
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(compactEncodingInterceptor);
+    }
+
+    // [서버 → 클라이언트] 브로커 → 세션 전달 스레드풀 (실제 소켓 쓰기는 세션 데코레이터의 송신 스레드가 담당)
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        int poolSize = (outboundPoolSize > 0) ? outboundPoolSize : Runtime.getRuntime().availableProcessors() * 2;
+        registration.taskExecutor()
+                .corePoolSize(poolSize)
+                .maxPoolSize(poolSize)
+                .queueCapacity(outboundQueueCapacity);
+    }
+
+    // 세션별 송신 시간/버퍼 한도 (호가창 데코레이터가 같은 한도로 느린 세션을 끊고, 오래된 호가창 프레임부터 폐기 후 resync 표시)
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration
+                .setSendTimeLimit(sendTimeLimit)
+                .setSendBufferSizeLimit(sendBufferSizeLimit)
+                .addDecoratorFactory(orderBookOutboundDecoratorFactory);
+    }
+
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         registry.addEndpoint("/ws/orderBook")
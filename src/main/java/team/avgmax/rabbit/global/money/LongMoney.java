@@ -0,0 +1,61 @@
+package team.avgmax.rabbit.global.money;
+
+import team.avgmax.rabbit.global.policy.FeePolicy;
+
+import java.math.BigDecimal;
+
+/**
+ * 매칭 경로용 long 기반 금액/수량 계산 (원 단위, BNY 정수 수량).
+ * MoneyCalc 와 같은 규칙(수수료 HALF_UP)을 따르며, 오버플로우 시 ArithmeticException 을 던진다.
+ * BigDecimal 변환은 영속화/DTO 경계에서만 한다.
+ */
+public final class LongMoney {
+
+    private LongMoney() {}
+
+    // FEE_RATE(0.001) → 1 / 1000
+    private static final long FEE_NUMERATOR = FeePolicy.FEE_RATE.unscaledValue().longValueExact();
+    private static final long FEE_DENOMINATOR = BigDecimal.ONE.scaleByPowerOfTen(FeePolicy.FEE_RATE.scale()).longValueExact();
+
+    // qty * price (원)
+    public static long baseAmount(long qty, long unitPrice) {
+        return Math.multiplyExact(qty, unitPrice);
+    }
+
+    // amount 에 대한 수수료 (원 단위 HALF_UP)
+    public static long feeOn(long amount) {
+        if (amount <= 0) return 0L;
+        return Math.addExact(Math.multiplyExact(amount, FEE_NUMERATOR), FEE_DENOMINATOR / 2) / FEE_DENOMINATOR;
+    }
+
+    // base + fee(base)
+    public static long grossWithFee(long base) {
+        return Math.addExact(base, feeOn(base));
+    }
+
+    // (매수용) 예약금: qty * price + fee(qty*price)
+    public static long buyerReservation(long qty, long unitPrice) {
+        return grossWithFee(baseAmount(qty, unitPrice));
+    }
+
+    // (매수 체결 시) 내 지정가 > 체결가일 때 환불해야 할 금액(원금+수수료)
+    public static long buyerRefundForPriceImprovement(long filledQty, long tradePrice, long myLimitPrice) {
+        long diff = myLimitPrice - tradePrice;
+        if (diff <= 0 || filledQty <= 0) return 0L;
+        return grossWithFee(baseAmount(filledQty, diff));
+    }
+
+    // 매도자 실수령
+    public static long sellerIncome(long tradeAmount) {
+        return tradeAmount - feeOn(tradeAmount);
+    }
+
+    // 경계 변환: 소수부가 있거나 long 범위를 넘으면 ArithmeticException
+    public static long toLong(BigDecimal value) {
+        return value.longValueExact();
+    }
+
+    public static BigDecimal toBigDecimal(long value) {
+        return BigDecimal.valueOf(value);
+    }
+}
@@ -1,19 +1,30 @@
 package team.avgmax.rabbit.global.util;
 
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Service;
 
 import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
 public class RedisUtil {
 
     private final RedisTemplate<String, Object> redisTemplate;
+    private final ReactiveStringRedisTemplate reactiveRedisTemplate;
 
     public void setData(String key, String value, Long expiredTime){
         redisTemplate.opsForValue().set(key, value, expiredTime, TimeUnit.MILLISECONDS);
@@ -46,8 +57,10 @@ public class RedisUtil {
         return result != null && result;
     }
 
+    // 없는 키는 빈 Set (getSetSize 가 0 을 돌려주는 것과 같게)
     public Set<Object> getSetMembers(String key) {
-        return redisTemplate.opsForSet().members(key);
+        Set<Object> members = redisTemplate.opsForSet().members(key);
+        return members != null ? members : Collections.emptySet();
     }
 
     public Long getSetSize(String key) {
@@ -59,4 +72,40 @@ public class RedisUtil {
         redisTemplate.delete(key);
     }
 
-}
\ No newline at end of file
+    // === 파이프라인 (여러 명령을 한 번의 왕복으로) ===
+
+    // commands 안에서 호출한 명령의 결과를 호출 순서대로 반환 (commands 안의 반환값은 모두 null)
+    public List<Object> pipeline(Consumer<RedisOperations<String, Object>> commands) {
+        return redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(@NonNull RedisOperations<K, V> operations) throws DataAccessException {
+                commands.accept((RedisOperations<String, Object>) operations);
+                return null;
+            }
+        });
+    }
+
+    // 여러 Set 에 대한 SCARD (keys 와 같은 순서, 없는 키는 0)
+    public List<Long> getSetSizes(List<String> keys) {
+        if (keys.isEmpty()) return Collections.emptyList();
+        List<Object> results = pipeline(ops -> keys.forEach(key -> ops.opsForSet().size(key)));
+
+        List<Long> sizes = new ArrayList<>(results.size());
+        for (Object result : results) {
+            sizes.add((result instanceof Number n) ? n.longValue() : 0L);
+        }
+        return sizes;
+    }
+
+    // Lua 스크립트 (여러 명령을 원자적으로)
+    public <T> T execute(RedisScript<T> script, List<String> keys, Object... args) {
+        return redisTemplate.execute(script, keys, args);
+    }
+
+    // === 비동기 (Lettuce reactive, 호출 스레드를 막지 않음) ===
+
+    public Mono<Boolean> isMemberOfSetAsync(String key, String value) {
+        return reactiveRedisTemplate.opsForSet().isMember(key, value).defaultIfEmpty(false);
+    }
+}
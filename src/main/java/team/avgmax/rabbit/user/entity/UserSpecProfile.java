@@ -0,0 +1,104 @@
+package team.avgmax.rabbit.user.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import team.avgmax.rabbit.global.entity.BaseTime;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 신뢰도 계산용 스펙 요약 (사용자당 1행).
+ * 프로필 저장 시 경력/기술/자격증 컬렉션을 한 번만 훑어 만들어 두고, 신뢰도 계산은 이 행만 읽는다.
+ * 진행 중인 경력은 careerAsOf 이후 지난 일수만큼 이어서 센다.
+ */
+@Entity
+@Getter
+@SuperBuilder
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class UserSpecProfile extends BaseTime {
+
+    @Id
+    @Column(name = "personal_user_id", length = 26, nullable = false)
+    private String userId;
+
+    private long careerDays;           // 겹치는 기간을 합친 경력 일수 (careerAsOf 기준)
+
+    private LocalDate careerAsOf;
+
+    private boolean careerOngoing;     // 종료일 없는 경력 포함 여부
+
+    private int careerCount;
+
+    private int skillCount;
+
+    private int certificationCount;
+
+    private int verifiedCount;         // 증명서가 있는 경력 + 자격증 수
+
+    private LocalDateTime specUpdatedAt;
+
+    public static UserSpecProfile from(PersonalUser user) {
+        LocalDate today = LocalDate.now();
+        List<Career> careers = user.getCareer();
+        List<Certification> certifications = user.getCertification();
+
+        long verified = careers.stream().filter(c -> hasCertificate(c.getCertificateUrl())).count()
+                + certifications.stream().filter(c -> hasCertificate(c.getCertificateUrl())).count();
+
+        return UserSpecProfile.builder()
+                .userId(user.getId())
+                .careerDays(mergedCareerDays(careers, today))
+                .careerAsOf(today)
+                .careerOngoing(careers.stream().anyMatch(c -> c.getStartDate() != null && c.getEndDate() == null))
+                .careerCount(careers.size())
+                .skillCount(user.getSkill().size())
+                .certificationCount(certifications.size())
+                .verifiedCount((int) verified)
+                .specUpdatedAt(user.getSpecUpdatedAt())
+                .build();
+    }
+
+    // 오늘 기준 경력 일수 (진행 중인 경력은 저장 이후 지난 날만큼 더함)
+    public long careerDaysAsOf(LocalDate today) {
+        if (!careerOngoing || careerAsOf == null || !today.isAfter(careerAsOf)) return careerDays;
+        return careerDays + ChronoUnit.DAYS.between(careerAsOf, today);
+    }
+
+    // 기간을 시작일 순으로 정렬해 겹치는 구간을 합친 총 일수 (종료일 없으면 today 까지)
+    private static long mergedCareerDays(List<Career> careers, LocalDate today) {
+        List<LocalDate[]> periods = careers.stream()
+                .filter(c -> c.getStartDate() != null)
+                .map(c -> new LocalDate[]{c.getStartDate(), c.getEndDate() != null ? c.getEndDate() : today})
+                .sorted(Comparator.comparing(arr -> arr[0]))
+                .toList();
+
+        long totalDays = 0;
+        LocalDate currentStart = null, currentEnd = null;
+
+        for (LocalDate[] period : periods) {
+            if (currentStart == null) {
+                currentStart = period[0];
+                currentEnd = period[1];
+            } else if (!period[0].isAfter(currentEnd)) {
+                if (period[1].isAfter(currentEnd)) currentEnd = period[1];
+            } else {
+                totalDays += ChronoUnit.DAYS.between(currentStart, currentEnd);
+                currentStart = period[0];
+                currentEnd = period[1];
+            }
+        }
+
+        if (currentStart != null) totalDays += ChronoUnit.DAYS.between(currentStart, currentEnd);
+        return totalDays;
+    }
+
+    private static boolean hasCertificate(String certificateUrl) {
+        return certificateUrl != null && !certificateUrl.isBlank();
+    }
+}
@@ -7,6 +7,9 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import team.avgmax.rabbit.user.entity.PersonalUser;
 
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface PersonalUserRepository extends JpaRepository<PersonalUser, String> {
@@ -16,4 +19,13 @@ public interface PersonalUserRepository extends JpaRepository<PersonalUser, Stri
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("select u from PersonalUser u where u.id = :id")
     PersonalUser findByIdForUpdate(@Param("id") String id);
-}
\ No newline at end of file
+
+    // 여러 사용자를 id 오름차순으로 한 번에 잠금 (잠금 순서 고정으로 교착 방지)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select u from PersonalUser u where u.id in :ids order by u.id")
+    List<PersonalUser> findAllByIdInForUpdate(@Param("ids") Collection<String> ids);
+
+    // 잠금 없이 잔액만 조회 (주문 사전 검증용, 엔티티를 영속성 컨텍스트에 올리지 않음)
+    @Query("select u.carrot from PersonalUser u where u.id = :id")
+    Optional<BigDecimal> findCarrotById(@Param("id") String id);
+}
@@ -0,0 +1,7 @@
+package team.avgmax.rabbit.user.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import team.avgmax.rabbit.user.entity.UserSpecProfile;
+
+public interface UserSpecProfileRepository extends JpaRepository<UserSpecProfile, String> {
+}
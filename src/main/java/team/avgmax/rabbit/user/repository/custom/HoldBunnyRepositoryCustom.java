@@ -10,10 +10,6 @@ public interface HoldBunnyRepositoryCustom {
 
     List<Tuple> findHolderTypeDistributionByBunnyId(String bunnyId);
 
-    void applyBuyMatch(String userId, String bunnyId, BigDecimal qty, BigDecimal tradeBaseAmount);
-
-    void applySellMatch(String userId, String bunnyId, BigDecimal tradeBaseAmount);
-
     void adjustReservation(String userId, String bunnyId, BigDecimal deltaQty);
 
     void deleteIfEmpty(String userId, String bunnyId);
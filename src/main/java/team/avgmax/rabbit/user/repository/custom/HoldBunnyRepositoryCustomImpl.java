@@ -67,36 +67,6 @@ public class HoldBunnyRepositoryCustomImpl implements HoldBunnyRepositoryCustom
                 .fetch();
     }
 
-    @Override
-    public void applyBuyMatch(String userId, String bunnyId, BigDecimal qty, BigDecimal tradeBaseAmount) {
-        QHoldBunny hold = QHoldBunny.holdBunny;
-
-        long updated = queryFactory.update(hold)
-                .set(hold.holdQuantity, hold.holdQuantity.add(qty))
-                .set(hold.costBasis, hold.costBasis.add(tradeBaseAmount))
-                .where(hold.holder.id.eq(userId), hold.bunny.id.eq(bunnyId))
-                .execute();
-
-        if (updated == 0) {
-            String id = UlidGenerator.generateMonotonic();
-            queryFactory.insert(hold)
-                    .columns(hold.id, hold.holder.id, hold.bunny.id, hold.holdQuantity, hold.costBasis, hold.createdAt, hold.updatedAt)
-                    .values(id, userId, bunnyId, qty, tradeBaseAmount, LocalDateTime.now(), LocalDateTime.now())
-                    .execute();
-        }
-    }
-
-    @Override
-    public void applySellMatch(String userId, String bunnyId, BigDecimal tradeBaseAmount) {
-        if (tradeBaseAmount == null || tradeBaseAmount.signum() <= 0) return;
-        QHoldBunny hold = QHoldBunny.holdBunny;
-
-        queryFactory.update(hold)
-                .set(hold.costBasis, hold.costBasis.subtract(tradeBaseAmount))
-                .where(hold.holder.id.eq(userId), hold.bunny.id.eq(bunnyId))
-                .execute();
-    }
-
     @Override
     public void adjustReservation(String userId, String bunnyId, BigDecimal deltaQty) {
         QHoldBunny hold = QHoldBunny.holdBunny;
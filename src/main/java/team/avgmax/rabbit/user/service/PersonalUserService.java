@@ -8,8 +8,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import team.avgmax.rabbit.ai.service.ChatClientService;
-import team.avgmax.rabbit.bunny.exception.BunnyException;
-import team.avgmax.rabbit.bunny.exception.BunnyError;
 import team.avgmax.rabbit.bunny.dto.response.MatchListResponse;
 import team.avgmax.rabbit.bunny.dto.response.MatchResponse;
 import team.avgmax.rabbit.bunny.dto.response.OrderListResponse;
@@ -33,10 +31,12 @@ import team.avgmax.rabbit.bunny.entity.Order;
 import team.avgmax.rabbit.bunny.repository.BunnyRepository;
 import team.avgmax.rabbit.bunny.repository.OrderRepository;
 import team.avgmax.rabbit.user.entity.HoldBunny;
+import team.avgmax.rabbit.user.entity.UserSpecProfile;
 import team.avgmax.rabbit.user.repository.HoldBunnyRepository;
 import team.avgmax.rabbit.user.repository.PersonalUserRepository;
+import team.avgmax.rabbit.user.repository.UserSpecProfileRepository;
 import team.avgmax.rabbit.bunny.repository.MatchRepository;
-import team.avgmax.rabbit.bunny.service.BunnyIndicatorService;
+import team.avgmax.rabbit.bunny.service.IndicatorRecomputeQueue;
 
 @Service
 @RequiredArgsConstructor
@@ -44,11 +44,12 @@ public class PersonalUserService {
     private final ChatClientService chatClientService;
 
     private final PersonalUserRepository personalUserRepository;
+    private final UserSpecProfileRepository userSpecProfileRepository;
     private final OrderRepository orderRepository;
     private final MatchRepository matchRepository;
     private final HoldBunnyRepository holdBunnyRepository;
     private final BunnyRepository bunnyRepository;
-    private final BunnyIndicatorService bunnyIndicatorService;
+    private final IndicatorRecomputeQueue indicatorRecomputeQueue;
 
     @Transactional
     public PersonalUser findOrCreateUser(String email, String name, String registrationId, String providerId) {
@@ -97,13 +98,12 @@ public class PersonalUserService {
         
         personalUser.updatePersonalUser(request);
         PersonalUser savedUser = personalUserRepository.save(personalUser);
+        // 신뢰도 계산용 스펙 요약 갱신 (경력/기술/자격증 컬렉션은 여기서 한 번만 읽음)
+        userSpecProfileRepository.save(UserSpecProfile.from(savedUser));
 
-        if (bunnyRepository.existsByUserId(personalUserId)) {
-            Bunny bunny = bunnyRepository.findByUserId(personalUserId)
-                .orElseThrow(() -> new BunnyException(BunnyError.BUNNY_NOT_FOUND));
-            bunnyIndicatorService.updateBunnyReliability(bunny);
-            bunnyIndicatorService.updateBunnyValue(bunny);
-        }
+        // 상장한 사용자면 지표 재계산 요청 (커밋 후 비동기)
+        bunnyRepository.findByUserId(personalUserId)
+                .ifPresent(bunny -> indicatorRecomputeQueue.request(bunny.getId()));
 
         String aiReview = chatClientService.getAiReviewOfUserProfile(savedUser);
         savedUser.updateAiReview(aiReview);
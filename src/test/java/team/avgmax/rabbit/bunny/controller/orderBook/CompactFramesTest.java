@@ -0,0 +1,58 @@
+package team.avgmax.rabbit.bunny.controller.orderBook;
+
+import org.junit.jupiter.api.Test;
+import team.avgmax.rabbit.bunny.dto.currentPrice.PriceTick;
+import team.avgmax.rabbit.bunny.dto.orderBook.OrderBookDiff;
+import team.avgmax.rabbit.bunny.dto.orderBook.OrderBookLevel;
+import team.avgmax.rabbit.bunny.entity.enums.OrderType;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompactFramesTest {
+
+    @Test
+    void diff_는_가격_델타와_매수매도_구분을_담는다() {
+        OrderBookDiff diff = OrderBookDiff.of("bunny",
+                List.of(level(1010, 3, OrderType.SELL), level(990, 5, OrderType.BUY)),
+                List.of(level(1000, 0, OrderType.SELL), level(1000, 0, OrderType.BUY)),
+                BigDecimal.valueOf(1000), 7L, 12L, 11L, 99L);
+
+        long[][] frame = (long[][]) CompactFrames.encode(diff);
+
+        assertThat(frame[0]).containsExactly(12L, 11L, 99L, 1000L, 7L);
+        assertThat(frame[1]).containsExactly(-10L, 5L, 0L, 20L, 3L, 1L);
+        assertThat(frame[2]).hasSize(4);
+        assertThat(frame[2][0]).isZero();
+        assertThat(frame[2][2]).isZero();
+        assertThat(new long[]{frame[2][1], frame[2][3]}).containsExactlyInAnyOrder(0L, 1L);
+    }
+
+    @Test
+    void 정수로_옮길_수_없는_값이면_원래_payload_를_돌려준다() {
+        PriceTick tick = new PriceTick("bunny", new BigDecimal("1000.5"), 1L);
+
+        assertThat(CompactFrames.encode(tick)).isSameAs(tick);
+    }
+
+    @Test
+    void 현재가는_가격과_시각만_담는다() {
+        PriceTick tick = new PriceTick("bunny", BigDecimal.valueOf(1000), 5L);
+
+        assertThat((long[]) CompactFrames.encode(tick)).containsExactly(1000L, 5L);
+    }
+
+    @Test
+    void compact_가능_목적지만_true() {
+        assertThat(CompactFrames.isCompactCapable("/topic/bunnies/a/orderbook")).isTrue();
+        assertThat(CompactFrames.isCompactCapable("/topic/price/a")).isTrue();
+        assertThat(CompactFrames.isCompactCapable("/topic/price/a" + CompactFrames.SUFFIX)).isFalse();
+        assertThat(CompactFrames.isCompactCapable("/topic/close")).isFalse();
+    }
+
+    private static OrderBookLevel level(long price, long quantity, OrderType type) {
+        return new OrderBookLevel(BigDecimal.valueOf(price), BigDecimal.valueOf(quantity), type);
+    }
+}
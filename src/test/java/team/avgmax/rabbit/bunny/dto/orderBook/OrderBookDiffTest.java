@@ -0,0 +1,25 @@
+package team.avgmax.rabbit.bunny.dto.orderBook;
+
+import org.junit.jupiter.api.Test;
+import team.avgmax.rabbit.bunny.entity.enums.OrderType;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderBookDiffTest {
+
+    @Test
+    void of_orderDeletes_는_삭제_레벨의_가격을_중복_없이_담는다() {
+        List<OrderBookLevel> deleted = List.of(
+                new OrderBookLevel(BigDecimal.valueOf(100), BigDecimal.ZERO, OrderType.BUY),
+                new OrderBookLevel(BigDecimal.valueOf(100), BigDecimal.ZERO, OrderType.SELL),
+                new OrderBookLevel(BigDecimal.valueOf(101), BigDecimal.ZERO, OrderType.SELL));
+
+        OrderBookDiff diff = OrderBookDiff.of("bunny", List.of(), deleted, BigDecimal.TEN, 1L, 2L, 1L, 0L);
+
+        assertThat(diff.orderDeletes()).containsExactly(BigDecimal.valueOf(100), BigDecimal.valueOf(101));
+        assertThat(diff.orderDeleteLevels()).isEqualTo(deleted);
+    }
+}
@@ -0,0 +1,102 @@
+package team.avgmax.rabbit.bunny.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class BunnyIndicatorStateTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+
+    @Test
+    void advance_첫_히스토리는_수익률_없이_거래량만_쌓는다() {
+        BunnyIndicatorState state = BunnyIndicatorState.advance(null, day(0, 1000, 7));
+
+        assertThat(state.getFirstDate()).isEqualTo(START);
+        assertThat(state.getReturnCount()).isZero();
+        assertThat(state.getVolumeDays()).isEqualTo(1);
+        assertThat(state.averageDailyVolume()).isEqualTo(7.0);
+        assertThat(state.volatilityPct()).isZero();
+    }
+
+    @Test
+    void advance_이미_반영한_날짜면_null() {
+        BunnyIndicatorState state = BunnyIndicatorState.advance(null, day(1, 1000, 1));
+
+        assertThat(BunnyIndicatorState.advance(state, day(1, 1100, 1))).isNull();
+        assertThat(BunnyIndicatorState.advance(state, day(0, 1100, 1))).isNull();
+    }
+
+    @Test
+    void advance_창을_벗어난_날은_평균과_분산에서_빠진다() {
+        List<Long> closes = new ArrayList<>();
+        BunnyIndicatorState state = null;
+        for (int d = 0; d <= 40; d++) {
+            long close = 1000 + (d * 37L) % 101;
+            closes.add(close);
+            state = BunnyIndicatorState.advance(state, day(d, close, d + 1));
+        }
+
+        // 마지막 30일(11~40일째)만 남음
+        List<Double> returns = new ArrayList<>();
+        double volumeSum = 0;
+        for (int d = 11; d <= 40; d++) {
+            returns.add(Math.log((double) closes.get(d) / closes.get(d - 1)));
+            volumeSum += d + 1;
+        }
+        assertThat(state.getReturnCount()).isEqualTo(BunnyIndicatorState.WINDOW_DAYS);
+        assertThat(state.getVolumeDays()).isEqualTo(BunnyIndicatorState.WINDOW_DAYS);
+        assertThat(state.averageDailyVolume()).isCloseTo(volumeSum / BunnyIndicatorState.WINDOW_DAYS, within(1e-9));
+        assertThat(state.volatilityPct()).isCloseTo(populationStdPct(returns), within(1e-9));
+        assertThat(state.spanDays()).isEqualTo(40);
+    }
+
+    @Test
+    void advance_30일_이상_비면_이전_창을_모두_비운다() {
+        BunnyIndicatorState state = null;
+        for (int d = 0; d < 5; d++) {
+            state = BunnyIndicatorState.advance(state, day(d, 1000 + d * 10L, 100));
+        }
+
+        BunnyIndicatorState next = BunnyIndicatorState.advance(state, day(4 + BunnyIndicatorState.WINDOW_DAYS, 1100, 3));
+
+        // 직전 종가 대비 수익률 1개와 당일 거래량만 남음
+        assertThat(next.getReturnCount()).isEqualTo(1);
+        assertThat(next.getVolumeDays()).isEqualTo(1);
+        assertThat(next.averageDailyVolume()).isEqualTo(3.0);
+        assertThat(next.volatilityPct()).isZero();
+        assertThat(next.getFirstDate()).isEqualTo(START);
+    }
+
+    @Test
+    void advance_히스토리_없는_날은_창에서_비운_채로_넘어간다() {
+        BunnyIndicatorState state = BunnyIndicatorState.advance(null, day(0, 1000, 10));
+        state = BunnyIndicatorState.advance(state, day(1, 1100, 20));
+        state = BunnyIndicatorState.advance(state, day(5, 1210, 30));
+
+        assertThat(state.getReturnCount()).isEqualTo(2);
+        assertThat(state.getVolumeDays()).isEqualTo(3);
+        assertThat(state.averageDailyVolume()).isCloseTo(20.0, within(1e-9));
+    }
+
+    private static BunnyHistory day(int offset, long close, long tradeQuantity) {
+        return BunnyHistory.builder()
+                .bunnyId("bunny")
+                .date(START.plusDays(offset))
+                .closingPrice(BigDecimal.valueOf(close))
+                .tradeQuantity(BigDecimal.valueOf(tradeQuantity))
+                .build();
+    }
+
+    private static double populationStdPct(List<Double> values) {
+        double mean = values.stream().mapToDouble(Double::doubleValue).average().orElse(0);
+        double m2 = values.stream().mapToDouble(v -> (v - mean) * (v - mean)).sum();
+        return Math.sqrt(m2 / values.size()) * 100;
+    }
+}
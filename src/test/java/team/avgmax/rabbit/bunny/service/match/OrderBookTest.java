@@ -0,0 +1,122 @@
+package team.avgmax.rabbit.bunny.service.match;
+
+import org.junit.jupiter.api.Test;
+import team.avgmax.rabbit.bunny.entity.enums.OrderType;
+import team.avgmax.rabbit.bunny.service.orderBook.OrderBookAssembler.OrderLeaf;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderBookTest {
+
+    private final OrderBook book = new OrderBook("bunny");
+
+    @Test
+    void plan_가격_시간_우선순위로_체결한다() {
+        book.add(resting("a1", "seller1", OrderType.SELL, 100, 3));
+        book.add(resting("a2", "seller2", OrderType.SELL, 100, 3));
+        book.add(resting("a3", "seller3", OrderType.SELL, 99, 2));
+
+        List<Fill> fills = book.plan(OrderType.BUY, 100, 6, "buyer");
+
+        assertThat(fills).containsExactly(
+                fill("a3", "seller3", 2, 99),
+                fill("a1", "seller1", 3, 100),
+                fill("a2", "seller2", 1, 100));
+    }
+
+    @Test
+    void plan_지정가를_넘는_레벨과는_체결하지_않는다() {
+        book.add(resting("b1", "buyer1", OrderType.BUY, 100, 5));
+        book.add(resting("b2", "buyer2", OrderType.BUY, 98, 5));
+
+        List<Fill> fills = book.plan(OrderType.SELL, 99, 10, "seller");
+
+        assertThat(fills).containsExactly(fill("b1", "buyer1", 5, 100));
+    }
+
+    @Test
+    void plan_자기_주문은_건너뛰고_호가창은_바꾸지_않는다() {
+        book.add(resting("mine", "me", OrderType.SELL, 100, 5));
+        book.add(resting("other", "you", OrderType.SELL, 100, 5));
+
+        List<Fill> fills = book.plan(OrderType.BUY, 100, 5, "me");
+
+        assertThat(fills).containsExactly(fill("other", "you", 5, 100));
+        assertThat(book.levelQuantity(OrderType.SELL, 100)).isEqualTo(10);
+        assertThat(book.contains("mine")).isTrue();
+        assertThat(book.contains("other")).isTrue();
+    }
+
+    @Test
+    void fill_부분_체결은_잔량만_줄이고_완전_체결은_레벨에서_제거한다() {
+        book.add(resting("a1", "seller1", OrderType.SELL, 100, 5));
+        book.add(resting("a2", "seller2", OrderType.SELL, 100, 2));
+
+        book.fill("a1", 3);
+        assertThat(book.contains("a1")).isTrue();
+        assertThat(book.levelQuantity(OrderType.SELL, 100)).isEqualTo(4);
+        assertThat(book.plan(OrderType.BUY, 100, 10, "buyer"))
+                .containsExactly(fill("a1", "seller1", 2, 100), fill("a2", "seller2", 2, 100));
+
+        book.fill("a1", 2);
+        book.fill("a2", 2);
+        assertThat(book.contains("a1")).isFalse();
+        assertThat(book.contains("a2")).isFalse();
+        assertThat(book.levelQuantity(OrderType.SELL, 100)).isZero();
+        assertThat(book.topLevels(0)).isEmpty();
+        assertThat(book.plan(OrderType.BUY, 100, 10, "buyer")).isEmpty();
+    }
+
+    @Test
+    void remove_취소하면_레벨_잔량에서_빠진다() {
+        book.add(resting("b1", "buyer1", OrderType.BUY, 100, 5));
+        book.add(resting("b2", "buyer2", OrderType.BUY, 100, 2));
+
+        RestingOrder removed = book.remove("b1");
+
+        assertThat(removed.getOrderId()).isEqualTo("b1");
+        assertThat(book.contains("b1")).isFalse();
+        assertThat(book.levelQuantity(OrderType.BUY, 100)).isEqualTo(2);
+        assertThat(book.plan(OrderType.SELL, 100, 5, "seller")).containsExactly(fill("b2", "buyer2", 2, 100));
+        assertThat(book.remove("b1")).isNull();
+    }
+
+    @Test
+    void topLevels_한쪽_최대_레벨_수를_지키고_0이면_전체를_준다() {
+        book.add(resting("b1", "buyer", OrderType.BUY, 100, 1));
+        book.add(resting("b2", "buyer", OrderType.BUY, 99, 2));
+        book.add(resting("a1", "seller", OrderType.SELL, 101, 3));
+        book.add(resting("a2", "seller", OrderType.SELL, 102, 4));
+
+        assertThat(book.topLevels(1)).containsExactly(
+                new OrderLeaf(BigDecimal.valueOf(100), BigDecimal.valueOf(1), OrderType.BUY),
+                new OrderLeaf(BigDecimal.valueOf(101), BigDecimal.valueOf(3), OrderType.SELL));
+        assertThat(book.topLevels(0)).hasSize(4);
+    }
+
+    @Test
+    void advanceSequence_변경마다_1씩_증가한다() {
+        assertThat(book.advanceSequence()).isEqualTo(1);
+        assertThat(book.advanceSequence()).isEqualTo(2);
+        assertThat(book.getSequence()).isEqualTo(2);
+    }
+
+    @Test
+    void advanceSequence_이전_버전에_이어서_증가한다() {
+        OrderBook rebuilt = new OrderBook("bunny", 41);
+
+        assertThat(rebuilt.advanceSequence()).isEqualTo(42);
+        assertThat(rebuilt.getSequence()).isEqualTo(42);
+    }
+
+    private static RestingOrder resting(String orderId, String userId, OrderType type, long price, long quantity) {
+        return new RestingOrder(orderId, userId, type, price, quantity);
+    }
+
+    private static Fill fill(String orderId, String userId, long quantity, long price) {
+        return new Fill(orderId, userId, quantity, price);
+    }
+}
@@ -0,0 +1,41 @@
+package team.avgmax.rabbit.bunny.service.match;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SettlementAccumulatorTest {
+
+    private final SettlementAccumulator accumulator = new SettlementAccumulator();
+
+    @Test
+    void netDeltas_같은_사용자의_증감을_합치고_0은_빼고_id_오름차순으로_준다() {
+        accumulator.credit("u3", 100);
+        accumulator.credit("u1", 50);
+        accumulator.debit("u2", 30);
+        accumulator.credit("u3", 20);
+        accumulator.credit("u2", 30);
+
+        Map<String, Long> deltas = accumulator.netDeltas();
+
+        assertThat(deltas).containsExactly(Map.entry("u1", 50L), Map.entry("u3", 120L));
+    }
+
+    @Test
+    void 매수_예약금_차감과_체결_환불을_상계한다() {
+        accumulator.debit("buyer", 3003);
+        accumulator.credit("buyer", 1001);
+
+        assertThat(accumulator.netDeltas()).containsExactly(Map.entry("buyer", -2002L));
+    }
+
+    @Test
+    void 합계가_long_범위를_넘으면_ArithmeticException() {
+        accumulator.credit("u1", Long.MAX_VALUE);
+
+        assertThatThrownBy(() -> accumulator.credit("u1", 1)).isInstanceOf(ArithmeticException.class);
+    }
+}
@@ -0,0 +1,54 @@
+package team.avgmax.rabbit.bunny.service.orderBook;
+
+import org.junit.jupiter.api.Test;
+import team.avgmax.rabbit.bunny.dto.orderBook.OrderBookDiff;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderBookReplayBufferTest {
+
+    private static final long EPOCH = 7L;
+
+    private final OrderBookReplayBuffer buffer = new OrderBookReplayBuffer(3);
+
+    @Test
+    void since_같은_epoch_에서_이후_Diff_를_순서대로_준다() {
+        for (long seq = 1; seq <= 3; seq++) buffer.append(diff(seq));
+
+        assertThat(buffer.since("bunny", EPOCH, 1, EPOCH, 3))
+                .hasValueSatisfying(diffs -> assertThat(diffs).extracting(OrderBookDiff::sequence).containsExactly(2L, 3L));
+        assertThat(buffer.since("bunny", EPOCH, 3, EPOCH, 3)).hasValue(List.of());
+    }
+
+    @Test
+    void since_버퍼에서_밀려난_구간이면_empty() {
+        for (long seq = 1; seq <= 5; seq++) buffer.append(diff(seq));
+
+        assertThat(buffer.since("bunny", EPOCH, 1, EPOCH, 5)).isEmpty();
+        assertThat(buffer.since("bunny", EPOCH, 2, EPOCH, 5)).isPresent();
+    }
+
+    @Test
+    void since_epoch_가_다르면_sequence_와_무관하게_empty() {
+        for (long seq = 1; seq <= 3; seq++) buffer.append(diff(seq));
+
+        // 재기동 전 sequence 가 현재보다 작아도 다른 실행이므로 스냅샷부터
+        assertThat(buffer.since("bunny", EPOCH + 1, 2, EPOCH, 3)).isEmpty();
+        assertThat(buffer.since("bunny", EPOCH, 4, EPOCH, 3)).isEmpty();
+    }
+
+    @Test
+    void clear_이후에는_스냅샷으로_다시_받게_한다() {
+        buffer.append(diff(1));
+        buffer.clear();
+
+        assertThat(buffer.since("bunny", EPOCH, 0, EPOCH, 1)).isEmpty();
+    }
+
+    private static OrderBookDiff diff(long sequence) {
+        return OrderBookDiff.of("bunny", List.of(), List.of(), BigDecimal.TEN, EPOCH, sequence, sequence - 1, 0L);
+    }
+}
@@ -0,0 +1,48 @@
+package team.avgmax.rabbit.global.money;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LongMoneyTest {
+
+    @Test
+    void feeOn_원_단위_HALF_UP으로_반올림한다() {
+        assertThat(LongMoney.feeOn(1499)).isEqualTo(1);  // 1.499
+        assertThat(LongMoney.feeOn(1500)).isEqualTo(2);  // 1.5
+        assertThat(LongMoney.feeOn(499)).isZero();       // 0.499
+        assertThat(LongMoney.feeOn(0)).isZero();
+        assertThat(LongMoney.feeOn(-1000)).isZero();
+    }
+
+    @Test
+    void 매수_예약금과_가격_개선_환불은_원금에_수수료를_더한다() {
+        assertThat(LongMoney.buyerReservation(3, 1000)).isEqualTo(3003);
+        assertThat(LongMoney.buyerRefundForPriceImprovement(10, 900, 1000)).isEqualTo(1001);
+        assertThat(LongMoney.buyerRefundForPriceImprovement(10, 1000, 1000)).isZero();
+        assertThat(LongMoney.buyerRefundForPriceImprovement(0, 900, 1000)).isZero();
+    }
+
+    @Test
+    void sellerIncome_체결금액에서_수수료를_뺀다() {
+        assertThat(LongMoney.sellerIncome(1500)).isEqualTo(1498);
+        assertThat(LongMoney.sellerIncome(1000)).isEqualTo(999);
+    }
+
+    @Test
+    void 오버플로우는_ArithmeticException을_던진다() {
+        assertThatThrownBy(() -> LongMoney.baseAmount(Long.MAX_VALUE, 2)).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> LongMoney.feeOn(Long.MAX_VALUE)).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> LongMoney.buyerReservation(Long.MAX_VALUE / 1000, 1000)).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void toLong_소수부가_있거나_범위를_넘으면_ArithmeticException을_던진다() {
+        assertThat(LongMoney.toLong(new BigDecimal("100.00"))).isEqualTo(100);
+        assertThatThrownBy(() -> LongMoney.toLong(new BigDecimal("1.5"))).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> LongMoney.toLong(new BigDecimal("1e19"))).isInstanceOf(ArithmeticException.class);
+    }
+}